@@ -5,7 +5,12 @@
 package com.jcabi.matchers;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import org.hamcrest.Description;
 import org.hamcrest.DiagnosingMatcher;
 import org.hamcrest.Matcher;
@@ -17,6 +22,27 @@ import org.hamcrest.core.AllOf;
  *
  * Based in {@link AllOf}.
  *
+ * <p>When a {@link ForkJoinPool} is given, the matchers are checked
+ * concurrently in it, but their mismatches are still reported in
+ * the order of the matchers. The matchers, as well as the object they
+ * are checked against, must be thread-safe then.
+ *
+ * <p>The number of mismatches to collect may be limited. With the limit
+ * of one it fails fast, at the first mismatch, with
+ * {@link Integer#MAX_VALUE} it collects all of them. When the limit
+ * is reached, the rest of matchers are not checked at all, unless they
+ * are checked concurrently.
+ *
+ * <p>The positions of failed matchers are memorized between
+ * {@code matches()} and {@code describeMismatch()} for the same object,
+ * see {@link MismatchMemo}, so that a failure is not checked twice.
+ *
+ * <p>The matcher keeps no state between evaluations, except for the
+ * matchers that failed in the last evaluation in the current thread,
+ * which are printed by {@link #describeTo(Description)}. That's why
+ * one object of this class can be shared between threads and used
+ * for any number of items.
+ *
  * @param <T> Type of argument
  * @since 0.2.6
  */
@@ -25,12 +51,27 @@ final class AllOfThatPrintsOnlyWrongMatchers<T> extends DiagnosingMatcher<T> {
     /**
      * Matchers that will be tested.
      */
-    private final transient Iterable<Matcher<? super T>> matchers;
+    private final transient List<Matcher<? super T>> matchers;
 
     /**
-     * Matchers that does not matches.
+     * Pool to check matchers in, or NULL to check them one by one.
      */
-    private final transient List<Matcher<? super T>> wrong;
+    private final transient ForkJoinPool pool;
+
+    /**
+     * Maximum number of mismatches to collect.
+     */
+    private final transient int limit;
+
+    /**
+     * Positions of failed matchers, in the last failed check.
+     */
+    private final transient MismatchMemo<List<Integer>> memo;
+
+    /**
+     * Matchers that did not match in the last evaluation, per thread.
+     */
+    private final transient ThreadLocal<List<Matcher<? super T>>> wrong;
 
     /**
      * Construct that accept matchers to test.
@@ -38,28 +79,141 @@ final class AllOfThatPrintsOnlyWrongMatchers<T> extends DiagnosingMatcher<T> {
      */
     AllOfThatPrintsOnlyWrongMatchers(
         final Iterable<Matcher<? super T>> iterable
+    ) {
+        this(iterable, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Construct that accept matchers to test, maybe concurrently.
+     * @param iterable Matchers that will be tested
+     * @param threads Pool to check matchers in, or NULL
+     * @param max Maximum number of mismatches to collect
+     */
+    AllOfThatPrintsOnlyWrongMatchers(
+        final Iterable<Matcher<? super T>> iterable,
+        final ForkJoinPool threads, final int max
     ) {
         super();
-        this.matchers = iterable;
-        this.wrong = new ArrayList<>(3);
+        if (max < 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Limit of mismatches must be positive, %d given", max
+                )
+            );
+        }
+        final List<Matcher<? super T>> list = new ArrayList<>(0);
+        for (final Matcher<? super T> matcher : iterable) {
+            list.add(matcher);
+        }
+        this.matchers = Collections.unmodifiableList(list);
+        this.pool = threads;
+        this.limit = max;
+        this.memo = new MismatchMemo<>();
+        this.wrong = ThreadLocal.withInitial(Collections::emptyList);
     }
 
     @Override
     public void describeTo(final Description description) {
-        description.appendList("(", ",", ")", this.wrong);
+        description.appendList("(", ",", ")", this.wrong.get());
     }
 
     @Override
     public boolean matches(final Object obj, final Description mismatch) {
-        boolean matches = true;
-        for (final Matcher<? super T> matcher : this.matchers) {
-            if (!matcher.matches(obj)) {
-                mismatch.appendDescriptionOf(matcher).appendText(" ");
-                matcher.describeMismatch(obj, mismatch);
-                this.wrong.add(matcher);
-                matches = false;
+        final boolean quiet = mismatch == Description.NONE;
+        List<Integer> failed = null;
+        if (quiet) {
+            this.memo.clear();
+        } else {
+            failed = this.memo.take(obj);
+        }
+        if (failed == null) {
+            failed = this.check(obj);
+            if (quiet && !failed.isEmpty()) {
+                this.memo.put(obj, failed);
+            }
+        }
+        if (failed.isEmpty()) {
+            this.wrong.remove();
+        } else {
+            final List<Matcher<? super T>> list =
+                new ArrayList<>(failed.size());
+            for (final int idx : failed) {
+                list.add(this.matchers.get(idx));
+            }
+            this.wrong.set(list);
+        }
+        if (!quiet) {
+            this.describe(obj, failed, mismatch);
+        }
+        return failed.isEmpty();
+    }
+
+    /**
+     * Describe the failed matchers.
+     * @param obj The object they were checked against
+     * @param failed Positions of failed matchers
+     * @param mismatch Description to append to
+     */
+    private void describe(final Object obj, final List<Integer> failed,
+        final Description mismatch) {
+        for (final int idx : failed) {
+            final Matcher<? super T> matcher = this.matchers.get(idx);
+            mismatch.appendDescriptionOf(matcher).appendText(" ");
+            matcher.describeMismatch(obj, mismatch);
+        }
+        if (this.pool == null && failed.size() == this.limit) {
+            final int rest = this.matchers.size()
+                - failed.get(failed.size() - 1) - 1;
+            if (rest > 0) {
+                mismatch.appendText(
+                    String.format(
+                        " (stopped after %d mismatch(es), %d not checked)",
+                        this.limit, rest
+                    )
+                );
+            }
+        }
+    }
+
+    /**
+     * Check matchers, one by one or concurrently, until the limit
+     * of mismatches is reached.
+     * @param obj The object to check them against
+     * @return Positions of matchers that failed, in ascending order
+     */
+    private List<Integer> check(final Object obj) {
+        final List<Matcher<? super T>> all = this.matchers;
+        final List<Integer> failed = new ArrayList<>(0);
+        if (this.pool == null) {
+            for (int idx = 0; idx < all.size()
+                && failed.size() < this.limit; ++idx) {
+                if (!all.get(idx).matches(obj)) {
+                    failed.add(idx);
+                }
+            }
+        } else {
+            final List<Callable<Boolean>> tasks = new ArrayList<>(all.size());
+            for (final Matcher<? super T> matcher : all) {
+                tasks.add(() -> matcher.matches(obj));
+            }
+            final List<Future<Boolean>> futures = this.pool.invokeAll(tasks);
+            try {
+                for (int idx = 0; idx < all.size()
+                    && failed.size() < this.limit; ++idx) {
+                    if (!futures.get(idx).get()) {
+                        failed.add(idx);
+                    }
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            } catch (final ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw new IllegalStateException(ex.getCause());
             }
         }
-        return matches;
+        return failed;
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Bounded cache of objects compiled from XML documents, like schemas or
+ * stylesheets, shared by all threads.
+ *
+ * <p>Objects are compiled only once. A document loaded from a URL is kept
+ * by the URL, so it is neither read nor hashed again, and a change of
+ * the document behind the URL is not noticed, like with classes loaded
+ * by a class loader. A document given as a text is kept by the hash of
+ * its content. The least recently used objects are evicted, when there are too
+ * many of them. Two threads may compile the same document at the same
+ * time, which is harmless, since the compiled objects must be immutable
+ * and thread-safe.
+ *
+ * @param <V> Type of compiled objects
+ * @since 2.0
+ */
+final class ContentCache<V> {
+
+    /**
+     * Compiled objects by URL or hash of content, in access order.
+     */
+    private final transient Map<String, V> entries;
+
+    /**
+     * Compiler of documents.
+     */
+    private final transient Function<Source, V> compiler;
+
+    /**
+     * Ctor.
+     * @param max Maximum number of objects to keep
+     * @param func Compiler of documents
+     */
+    ContentCache(final int max, final Function<Source, V> func) {
+        this.entries = new LruMap<>(max);
+        this.compiler = func;
+    }
+
+    /**
+     * Compiled document, loaded from the URL. Relative references of
+     * the document are resolved against the URL.
+     * @param url Location of the document
+     * @return Compiled object, from cache or compiled now
+     */
+    V get(final URL url) {
+        final String location = url.toExternalForm();
+        return this.cached(location, () -> new StreamSource(location));
+    }
+
+    /**
+     * Compiled document, given as a text.
+     * @param text The document
+     * @return Compiled object, from cache or compiled now
+     */
+    V get(final String text) {
+        return this.cached(
+            String.format(
+                "#%s", ContentCache.hash(text.getBytes(StandardCharsets.UTF_8))
+            ),
+            () -> new StreamSource(new StringReader(text))
+        );
+    }
+
+    /**
+     * How many objects are in cache now.
+     * @return Number of them
+     */
+    int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Take the object from cache or compile it and put it there.
+     * @param key Key in cache
+     * @param source Source of the document
+     * @return Compiled object
+     */
+    private V cached(final String key, final Supplier<Source> source) {
+        V value;
+        synchronized (this.entries) {
+            value = this.entries.get(key);
+        }
+        if (value == null) {
+            value = this.compiler.apply(source.get());
+            synchronized (this.entries) {
+                this.entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * SHA-256 hash of the content.
+     * @param content The content
+     * @return Hash, in hex
+     */
+    private static String hash(final byte[] content) {
+        try {
+            return new BigInteger(
+                1, MessageDigest.getInstance("SHA-256").digest(content)
+            ).toString(16);
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
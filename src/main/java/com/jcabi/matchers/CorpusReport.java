@@ -0,0 +1,158 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Report of checking {@link XPathRules} against many documents.
+ *
+ * <p>Only documents, which failed, are in the report, in the order they
+ * were given. A document fails when at least one rule doesn't match it,
+ * or when it can't be read or parsed at all. Documents are named by
+ * their files or system IDs, or by their positions, like {@code #5},
+ * when they have no names. When a name is taken by an earlier document
+ * already, the position is appended to it, like {@code a.xml#5}, so no
+ * document hides another one.
+ *
+ * <p>Objects of this class are immutable and thread-safe, once they are
+ * returned by {@link XPathRules#check(java.util.stream.Stream, int)}.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode
+public final class CorpusReport {
+
+    /**
+     * How many documents were checked.
+     */
+    private final transient int total;
+
+    /**
+     * All rules, in order.
+     */
+    private final transient List<String> rules;
+
+    /**
+     * Rules, which failed, by documents.
+     */
+    private final transient Map<String, List<String>> failures;
+
+    /**
+     * Why documents can't be checked, by documents.
+     */
+    private final transient Map<String, String> errors;
+
+    /**
+     * Ctor.
+     * @param count How many documents were checked
+     * @param all All rules, in order
+     */
+    CorpusReport(final int count, final List<String> all) {
+        this.total = count;
+        this.rules = all;
+        this.failures = new LinkedHashMap<>(0);
+        this.errors = new LinkedHashMap<>(0);
+    }
+
+    /**
+     * How many documents were checked.
+     * @return Number of them
+     */
+    public int checked() {
+        return this.total;
+    }
+
+    /**
+     * Did all documents pass all rules?
+     * @return TRUE if they did
+     */
+    public boolean passed() {
+        return this.failures.isEmpty() && this.errors.isEmpty();
+    }
+
+    /**
+     * Rules, which failed, by documents.
+     * @return Queries of rules by names of documents
+     */
+    public Map<String, List<String>> byDocument() {
+        return Collections.unmodifiableMap(this.failures);
+    }
+
+    /**
+     * Documents, which failed, by rules.
+     * @return Names of documents by queries of rules, in order of rules
+     */
+    public Map<String, List<String>> byRule() {
+        final Map<String, List<String>> docs = new LinkedHashMap<>(0);
+        for (final String rule : this.rules) {
+            final List<String> names = new ArrayList<>(0);
+            for (final Map.Entry<String, List<String>> entry
+                : this.failures.entrySet()) {
+                if (entry.getValue().contains(rule)) {
+                    names.add(entry.getKey());
+                }
+            }
+            if (!names.isEmpty()) {
+                docs.put(rule, Collections.unmodifiableList(names));
+            }
+        }
+        return Collections.unmodifiableMap(docs);
+    }
+
+    /**
+     * Documents, which can't be read or parsed.
+     * @return Error messages by names of documents
+     */
+    public Map<String, String> errors() {
+        return Collections.unmodifiableMap(this.errors);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0).append(
+            String.format(
+                "%d document(s) checked, %d failed, %d can't be read",
+                this.total, this.failures.size(), this.errors.size()
+            )
+        );
+        for (final Map.Entry<String, List<String>> entry
+            : this.failures.entrySet()) {
+            text.append(System.lineSeparator()).append(entry.getKey())
+                .append(": ").append(String.join(", ", entry.getValue()));
+        }
+        for (final Map.Entry<String, String> entry : this.errors.entrySet()) {
+            text.append(System.lineSeparator()).append(entry.getKey())
+                .append(": ").append(entry.getValue());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Add a failed document.
+     * @param idx Position of the document
+     * @param name Name of the document
+     * @param failed Rules, which failed
+     * @param error Why it can't be checked, or NULL
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    void add(final int idx, final String name, final List<String> failed,
+        final String error) {
+        String key = name;
+        if (this.failures.containsKey(key) || this.errors.containsKey(key)) {
+            key = String.format("%s#%d", name, idx);
+        }
+        if (error == null) {
+            this.failures.put(key, Collections.unmodifiableList(failed));
+        } else {
+            this.errors.put(key, error);
+        }
+    }
+}
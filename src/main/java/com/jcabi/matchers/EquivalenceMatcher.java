@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.io.StringReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hamcrest.Description;
+
+/**
+ * Matcher of XML documents, which are equivalent to the expected one.
+ *
+ * <p>Both documents are read together, event by event, and compared as
+ * explained in {@link XmlDiff}, until the first difference, which is
+ * memorized, see {@link MemoizingMatcher}. Text, streams, readers and
+ * files are read without building a DOM, while a DOM is serialized first.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @param <T> Type of param
+ * @since 2.0
+ */
+@ToString(of = "expected")
+@EqualsAndHashCode(callSuper = false, of = "expected")
+final class EquivalenceMatcher<T> extends MemoizingMatcher<T, String> {
+
+    /**
+     * The expected document.
+     */
+    private final transient StringSource expected;
+
+    /**
+     * Ctor.
+     * @param xml The expected document
+     */
+    EquivalenceMatcher(final StringSource xml) {
+        super();
+        this.expected = xml;
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        description.appendText("an XML document equivalent to ")
+            .appendValue(this.expected);
+    }
+
+    @Override
+    protected String evaluate(final T item) {
+        return this.diff(item);
+    }
+
+    @Override
+    protected boolean accepts(final String diff) {
+        return diff == null;
+    }
+
+    @Override
+    protected void explain(final String diff, final Description description) {
+        description.appendText(diff);
+    }
+
+    /**
+     * Find the first difference between the expected document and
+     * the input.
+     * @param input The input
+     * @return The difference or NULL if there is none
+     */
+    private String diff(final T input) {
+        final XMLStreamReader left = EquivalenceMatcher.reader(this.expected);
+        try {
+            final XMLStreamReader right = EquivalenceMatcher.reader(
+                XhtmlMatchers.xhtml(input)
+            );
+            try {
+                return new XmlDiff(left, right).first();
+            } finally {
+                EquivalenceMatcher.close(right);
+            }
+        } finally {
+            EquivalenceMatcher.close(left);
+        }
+    }
+
+    /**
+     * Make a StAX reader of the source. Streams, readers and files are
+     * read as they are, the text of {@link StringSource} too, while
+     * a DOM is serialized first.
+     * @param source The source
+     * @return Reader
+     */
+    private static XMLStreamReader reader(final Source source) {
+        Source src = source;
+        if (src instanceof StringSource) {
+            src = ((StringSource) src).stream();
+        }
+        if (src instanceof StringSource) {
+            src = new StreamSource(
+                new StringReader(((StringSource) src).text())
+            );
+        } else if (src instanceof DOMSource) {
+            src = new StreamSource(
+                new StringReader(
+                    new StringSource(((DOMSource) src).getNode()).text()
+                )
+            );
+        }
+        return XmlPool.stax(src);
+    }
+
+    /**
+     * Close the reader.
+     * @param reader The reader
+     */
+    private static void close(final XMLStreamReader reader) {
+        try {
+            reader.close();
+        } catch (final XMLStreamException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
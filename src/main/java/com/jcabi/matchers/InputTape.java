@@ -0,0 +1,209 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import org.xml.sax.InputSource;
+
+/**
+ * SAX input, which can be read any number of times, even if it's
+ * a stream, which can be read only once.
+ *
+ * <p>Whatever is read from the original byte stream or reader is recorded.
+ * Every new reading starts with the record and goes on with the rest of
+ * the original, which is recorded too. So, when a reading stops early,
+ * only what was read is kept in memory, and the next reading takes the
+ * rest. The original is never closed, it belongs to the one who gave it.
+ * An input, which has only a system ID, is not recorded, since it can be
+ * opened again.
+ *
+ * <p>Objects of this class are thread-safe, but only one reading may
+ * be in progress at a time.
+ *
+ * @since 2.0
+ */
+final class InputTape {
+
+    /**
+     * The original input.
+     */
+    private final transient InputSource origin;
+
+    /**
+     * Bytes read from the original byte stream so far.
+     */
+    private final transient ByteArrayOutputStream bytes;
+
+    /**
+     * Chars read from the original reader so far.
+     */
+    private final transient CharArrayWriter chars;
+
+    /**
+     * Ctor.
+     * @param input The original input
+     */
+    InputTape(final InputSource input) {
+        this.origin = input;
+        this.bytes = new ByteArrayOutputStream();
+        this.chars = new CharArrayWriter();
+    }
+
+    /**
+     * Start a new reading of the input, from its very beginning.
+     * @return Input to read
+     */
+    synchronized InputSource replay() {
+        final InputSource input = new InputSource(this.origin.getSystemId());
+        input.setPublicId(this.origin.getPublicId());
+        input.setEncoding(this.origin.getEncoding());
+        if (this.origin.getByteStream() != null) {
+            input.setByteStream(
+                new InputTape.Bytes(
+                    new ByteArrayInputStream(this.bytes.toByteArray()),
+                    this.origin.getByteStream(), this.bytes
+                )
+            );
+        } else if (this.origin.getCharacterStream() != null) {
+            input.setCharacterStream(
+                new InputTape.Chars(
+                    new CharArrayReader(this.chars.toCharArray()),
+                    this.origin.getCharacterStream(), this.chars
+                )
+            );
+        }
+        return input;
+    }
+
+    /**
+     * Byte stream, which reads the record first and then the rest of
+     * the original, recording it.
+     *
+     * @since 2.0
+     */
+    private static final class Bytes extends InputStream {
+
+        /**
+         * What was recorded before this reading.
+         */
+        private final transient InputStream head;
+
+        /**
+         * The original stream.
+         */
+        private final transient InputStream tail;
+
+        /**
+         * The record.
+         */
+        private final transient ByteArrayOutputStream record;
+
+        /**
+         * Ctor.
+         * @param recorded What was recorded before
+         * @param rest The original stream
+         * @param out Where to record
+         */
+        Bytes(final InputStream recorded, final InputStream rest,
+            final ByteArrayOutputStream out) {
+            super();
+            this.head = recorded;
+            this.tail = rest;
+            this.record = out;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int next = this.head.read();
+            if (next < 0) {
+                next = this.tail.read();
+                if (next >= 0) {
+                    this.record.write(next);
+                }
+            }
+            return next;
+        }
+
+        @Override
+        public int read(final byte[] buf, final int off, final int len)
+            throws IOException {
+            int count = this.head.read(buf, off, len);
+            if (count < 0) {
+                count = this.tail.read(buf, off, len);
+                if (count > 0) {
+                    this.record.write(buf, off, count);
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // the original stream is not ours to close
+        }
+    }
+
+    /**
+     * Reader, which reads the record first and then the rest of the
+     * original, recording it.
+     *
+     * @since 2.0
+     */
+    private static final class Chars extends Reader {
+
+        /**
+         * What was recorded before this reading.
+         */
+        private final transient Reader head;
+
+        /**
+         * The original reader.
+         */
+        private final transient Reader tail;
+
+        /**
+         * The record.
+         */
+        private final transient CharArrayWriter record;
+
+        /**
+         * Ctor.
+         * @param recorded What was recorded before
+         * @param rest The original reader
+         * @param out Where to record
+         */
+        Chars(final Reader recorded, final Reader rest,
+            final CharArrayWriter out) {
+            super();
+            this.head = recorded;
+            this.tail = rest;
+            this.record = out;
+        }
+
+        @Override
+        public int read(final char[] buf, final int off, final int len)
+            throws IOException {
+            int count = this.head.read(buf, off, len);
+            if (count < 0) {
+                count = this.tail.read(buf, off, len);
+                if (count > 0) {
+                    this.record.write(buf, off, count);
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // the original reader is not ours to close
+        }
+    }
+}
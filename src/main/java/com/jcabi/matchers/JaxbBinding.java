@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * JAXB context, which makes marshallers and unmarshallers.
+ *
+ * <p>A {@link JAXBContext} is thread-safe, while its marshallers and
+ * unmarshallers are not. They are cheap, compared to the context, so
+ * a new one is made for every use. They are not kept per thread, since
+ * every thread would then refer to the context and its classes, and the
+ * context couldn't be collected after it is evicted from
+ * {@link JaxbContexts}, together with the class loader of its classes.
+ *
+ * <p>Objects of this class are thread-safe.
+ *
+ * @since 2.0
+ */
+final class JaxbBinding {
+
+    /**
+     * The context.
+     */
+    private final transient JAXBContext ctx;
+
+    /**
+     * Ctor.
+     * @param context The context
+     */
+    JaxbBinding(final JAXBContext context) {
+        this.ctx = context;
+    }
+
+    /**
+     * The context.
+     * @return Context
+     */
+    JAXBContext context() {
+        return this.ctx;
+    }
+
+    /**
+     * New marshaller of the context.
+     * @return Marshaller
+     * @throws JAXBException If it can't be made
+     */
+    Marshaller marshaller() throws JAXBException {
+        return this.ctx.createMarshaller();
+    }
+
+    /**
+     * New unmarshaller of the context.
+     * @return Unmarshaller
+     * @throws JAXBException If it can't be made
+     */
+    Unmarshaller unmarshaller() throws JAXBException {
+        return this.ctx.createUnmarshaller();
+    }
+}
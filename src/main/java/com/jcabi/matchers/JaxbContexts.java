@@ -0,0 +1,139 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of JAXB contexts, which make marshallers and unmarshallers, see
+ * {@link JaxbBinding}, shared by all threads.
+ *
+ * <p>Making a {@link JAXBContext} is the most expensive step of JAXB, since
+ * it inspects the whole graph of classes by reflection, while the context
+ * is thread-safe. That's why a context is made only once per ordered set
+ * of classes. A context refers to all its classes, so it is kept in
+ * a {@link ClassValue} of the class, whose class loader is the same as
+ * the loaders of all other classes or their descendant, usually the first
+ * class. Then the context doesn't prevent any class loader from being
+ * collected, which wouldn't be collected without it. When there is no
+ * such class, since the classes come from unrelated class loaders,
+ * the context is not cached at all. No more than {@link #MAX} contexts
+ * are kept per class, the least recently used ones are evicted. Two
+ * threads may make the same context at the same time, which is harmless.
+ *
+ * @since 2.0
+ */
+final class JaxbContexts {
+
+    /**
+     * Maximum number of contexts per class.
+     */
+    static final int MAX = 16;
+
+    /**
+     * Contexts by classes, which keep them, and ordered sets of classes.
+     */
+    private static final ClassValue<Map<List<Class<?>>, JaxbBinding>> CACHE =
+        new ClassValue<Map<List<Class<?>>, JaxbBinding>>() {
+            @Override
+            protected Map<List<Class<?>>, JaxbBinding> computeValue(
+                final Class<?> type) {
+                return new LruMap<>(JaxbContexts.MAX);
+            }
+        };
+
+    /**
+     * Utility class.
+     */
+    private JaxbContexts() {
+        // intentionally empty
+    }
+
+    /**
+     * Context of the classes, from cache or made now.
+     * @param classes The classes, the first of which is the main one
+     * @return Context
+     * @throws JAXBException If the context can't be made
+     */
+    static JaxbBinding binding(final Class<?>... classes)
+        throws JAXBException {
+        final Class<?> owner = JaxbContexts.owner(classes);
+        final JaxbBinding binding;
+        if (owner == null) {
+            binding = new JaxbBinding(JAXBContext.newInstance(classes));
+        } else {
+            binding = JaxbContexts.cached(
+                JaxbContexts.CACHE.get(owner), classes
+            );
+        }
+        return binding;
+    }
+
+    /**
+     * Context of the classes, from the contexts given or made now and
+     * put there.
+     * @param contexts Contexts by ordered sets of classes
+     * @param classes The classes
+     * @return Context
+     * @throws JAXBException If the context can't be made
+     */
+    private static JaxbBinding cached(
+        final Map<List<Class<?>>, JaxbBinding> contexts,
+        final Class<?>... classes) throws JAXBException {
+        final List<Class<?>> key = Arrays.asList(classes.clone());
+        JaxbBinding binding;
+        synchronized (contexts) {
+            binding = contexts.get(key);
+        }
+        if (binding == null) {
+            binding = new JaxbBinding(JAXBContext.newInstance(classes));
+            synchronized (contexts) {
+                contexts.put(key, binding);
+            }
+        }
+        return binding;
+    }
+
+    /**
+     * Class, which may keep the context of all the classes: the one, whose
+     * class loader is the loader of every other class or its descendant.
+     * @param classes The classes
+     * @return The class, or NULL if there is no such class
+     */
+    private static Class<?> owner(final Class<?>... classes) {
+        Class<?> owner = null;
+        for (int idx = 0; owner == null && idx < classes.length; ++idx) {
+            final ClassLoader loader = classes[idx].getClassLoader();
+            boolean sees = true;
+            for (final Class<?> type : classes) {
+                sees = sees && JaxbContexts.sees(loader, type.getClassLoader());
+            }
+            if (sees) {
+                owner = classes[idx];
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Is the other class loader the same as this one or its ancestor?
+     * @param loader This class loader, NULL for the bootstrap one
+     * @param other The other class loader, NULL for the bootstrap one
+     * @return TRUE if it is
+     */
+    private static boolean sees(final ClassLoader loader,
+        final ClassLoader other) {
+        boolean sees = other == null;
+        for (ClassLoader parent = loader; !sees && parent != null;
+            parent = parent.getParent()) {
+            sees = parent == other;
+        }
+        return sees;
+    }
+}
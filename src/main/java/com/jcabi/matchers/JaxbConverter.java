@@ -4,18 +4,19 @@
  */
 package com.jcabi.matchers;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
-import jakarta.xml.bind.JAXBIntrospector;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlType;
-import java.io.StringWriter;
+import java.util.Optional;
 import javax.xml.namespace.QName;
 import javax.xml.transform.Source;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hamcrest.Matcher;
+import org.w3c.dom.Document;
 
 /**
  * JAXB-empowered object to XML converting utility.
@@ -54,6 +55,13 @@ import lombok.ToString;
  *   }
  * }</pre>
  *
+ * <p>JAXB contexts are made only once per set of classes, see
+ * {@link JaxbContexts}, as well as names of elements for classes, which
+ * are not root elements, so converting many objects of the same classes
+ * does no reflection. Objects are marshalled straight into a DOM,
+ * which is serialized into text only when it's printed, with indentation
+ * or, if {@link JaxbConverter.Format#COMPACT} is requested, without it.
+ *
  * @since 0.1
  */
 @ToString
@@ -61,6 +69,24 @@ import lombok.ToString;
 @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
 public final class JaxbConverter {
 
+    /**
+     * Names of elements to wrap objects of classes into, or nothing
+     * if they are root elements.
+     */
+    private static final ClassValue<Optional<QName>> NAMES =
+        new ClassValue<Optional<QName>>() {
+            @Override
+            protected Optional<QName> computeValue(final Class<?> type) {
+                final Optional<QName> name;
+                if (type.isAnnotationPresent(XmlRootElement.class)) {
+                    name = Optional.empty();
+                } else {
+                    name = Optional.of(JaxbConverter.qname(type));
+                }
+                return name;
+            }
+        };
+
     /**
      * Private ctor, to avoid direct instantiation of the class.
      */
@@ -84,66 +110,123 @@ public final class JaxbConverter {
      * @return DOM source/document
      * @throws JAXBException If an exception occurs inside
      */
-    @SuppressWarnings("unchecked")
     public static Source the(final Object object, final Class<?>... deps)
         throws JAXBException {
+        return JaxbConverter.the(object, JaxbConverter.Format.PRETTY, deps);
+    }
+
+    /**
+     * Convert an object to XML, which is printed in the given format.
+     *
+     * <p>The method will throw {@link AssertionError} if marshalling of
+     * provided object fails for some reason.
+     *
+     * @param object The object to convert
+     * @param format How to print the XML
+     * @param deps Dependencies that we should take into account
+     * @return DOM source/document
+     * @throws JAXBException If an exception occurs inside
+     * @since 2.0
+     */
+    public static Source the(final Object object,
+        final JaxbConverter.Format format, final Class<?>... deps)
+        throws JAXBException {
+        final Marshaller mrsh = JaxbConverter.binding(object, deps)
+            .marshaller();
+        final Document dom = XmlPool.builder().newDocument();
+        try {
+            mrsh.marshal(JaxbConverter.element(object), dom);
+        } catch (final JAXBException ex) {
+            throw new AssertionError(ex);
+        }
+        return StringSource.owning(
+            dom, format == JaxbConverter.Format.PRETTY
+        );
+    }
+
+    /**
+     * Matcher of objects, which survive marshalling and unmarshalling.
+     *
+     * <p>The object is marshalled, unmarshalled back and marshalled again,
+     * and both XML documents must be equivalent, see
+     * {@link XhtmlMatchers#isEquivalentTo(Object)}. This is how
+     * properties, which are lost or changed on the way, are found, even
+     * if the class doesn't override {@code equals()}:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   new Employee(),
+     *   JaxbConverter.roundTrips()
+     * );</pre>
+     *
+     * <p>The documents are neither printed nor parsed into a DOM, they
+     * are streamed through in-memory buffers, which are reused by the
+     * thread, as well as the marshaller and the unmarshaller of the
+     * cached context. That's why it's cheap to check many objects.
+     *
+     * @param deps Dependencies that we should take into account
+     * @param <T> Type of objects to match
+     * @return Matcher
+     * @since 2.0
+     */
+    public static <T> Matcher<T> roundTrips(final Class<?>... deps) {
+        return new RoundTripMatcher<>(deps);
+    }
+
+    /**
+     * Cached context for the class of the object and its dependencies.
+     * @param object The object to convert
+     * @param deps Dependencies that we should take into account
+     * @return Context
+     */
+    static JaxbBinding binding(final Object object, final Class<?>... deps) {
         final Class<?>[] classes = new Class<?>[deps.length + 1];
         classes[0] = object.getClass();
         System.arraycopy(deps, 0, classes, 1, deps.length);
-        final JAXBContext ctx;
         try {
-            ctx = JAXBContext.newInstance(classes);
+            return JaxbContexts.binding(classes);
         } catch (final JAXBException ex) {
             throw new IllegalArgumentException(ex);
         }
-        final JAXBIntrospector intro = ctx.createJAXBIntrospector();
-        Object subject = object;
-        if (intro.getElementName(object) == null) {
-            subject = new JAXBElement<>(
-                JaxbConverter.qname(object),
-                (Class<Object>) object.getClass(),
-                object
-            );
-        }
-        final Marshaller mrsh = JaxbConverter.marshaller(ctx);
-        final StringWriter writer = new StringWriter();
-        try {
-            mrsh.marshal(subject, writer);
-        } catch (final JAXBException ex) {
-            throw new AssertionError(ex);
-        }
-        return new StringSource(writer.toString());
     }
 
     /**
-     * Create marshaller.
-     * @param ctx The context
-     * @return Marshaller
-     * @throws JAXBException If an exception occurs inside
+     * The object to marshal, which is the object itself, if it is a root
+     * element, or the object wrapped into an element otherwise.
+     * @param object The object to convert
+     * @return Object to marshal
      */
-    private static Marshaller marshaller(final JAXBContext ctx)
-        throws JAXBException {
-        final Marshaller mrsh = ctx.createMarshaller();
-        mrsh.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-        return mrsh;
+    @SuppressWarnings("unchecked")
+    static Object element(final Object object) {
+        Object subject = object;
+        if (!(object instanceof JAXBElement)) {
+            final Optional<QName> name = JaxbConverter.NAMES.get(
+                object.getClass()
+            );
+            if (name.isPresent()) {
+                subject = new JAXBElement<>(
+                    name.get(), (Class<Object>) object.getClass(), object
+                );
+            }
+        }
+        return subject;
     }
 
     /**
      * Get type name, if XmlType annotation is present (exception otherwise).
-     * @param obj The object
+     * @param cls The class
      * @return Qualified name
      * @see XmlElement#namespace()
      */
-    private static QName qname(final Object obj) {
+    private static QName qname(final Class<?> cls) {
         final XmlType type = XmlType.class.cast(
-            obj.getClass().getAnnotation(XmlType.class)
+            cls.getAnnotation(XmlType.class)
         );
         if (type == null) {
             throw new AssertionError(
                 String.format(
                     // @checkstyle LineLength (1 line)
                     "@XmlType or @XmlRootElement annotation required at %s",
-                    obj.getClass().getName()
+                    cls.getName()
                 )
             );
         }
@@ -155,4 +238,20 @@ public final class JaxbConverter {
         }
         return qname;
     }
+
+    /**
+     * How to print the XML, when it's serialized into text.
+     *
+     * @since 2.0
+     */
+    public enum Format {
+        /**
+         * With line breaks and indentation.
+         */
+        PRETTY,
+        /**
+         * With no whitespace between elements, which is smaller.
+         */
+        COMPACT
+    }
 }
@@ -0,0 +1,364 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import com.jcabi.xml.XPathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.transform.Source;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * XPath 1.0 engine of JDK, which evaluates queries against DOM.
+ *
+ * <p>A query matches a document when its boolean value is TRUE: it selects
+ * at least one node, or it is a boolean expression, which is TRUE, like
+ * {@code count(//p) > 1}. Nodes are not collected for that, the evaluation
+ * stops at the first one. Values of a query, which selects no nodes,
+ * like {@code count(//p)}, are evaluated as a string. Nodes are counted
+ * by the {@code count()} function of XPath, without collecting them too.
+ * Unprefixed element names of queries without namespace prefixes match
+ * elements without prefixes, in any default namespace, as
+ * {@link XPathEngine} requires. Every document is scanned once for the
+ * namespaces of its elements. When there are no default namespaces,
+ * which is the most common case, such a query is evaluated as it is.
+ * When all unprefixed elements are in one default namespace, the query
+ * is rewritten as explained in {@link XPathQuery#qualified(String)}
+ * and the prefix is bound to that namespace. In both cases, names are
+ * tested by XPath directly, without calling {@code name()} for every
+ * node. Only when there are nested default namespaces, like an inline
+ * SVG in XHTML, the query is rewritten as explained in
+ * {@link XPathQuery#agnostic()}. A query is compiled once per thread and
+ * per default namespace.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class JdkXPathEngine implements XPathEngine<Node> {
+
+    /**
+     * Prefix, which is bound to the default namespace of the document,
+     * when a query without prefixes is rewritten.
+     */
+    private static final String PREFIX = "default";
+
+    /**
+     * Marker of documents, where unprefixed elements are in different
+     * default namespaces, or share it with prefixed elements.
+     */
+    private static final String MIXED = "*";
+
+    /**
+     * Default namespaces of documents, which were scanned already.
+     */
+    private static final Map<Node, String> DEFAULTS =
+        Collections.synchronizedMap(new WeakHashMap<>(0));
+
+    @Override
+    public Node document(final Source source) {
+        final Node node;
+        if (source instanceof StringSource) {
+            node = ((StringSource) source).document();
+        } else {
+            node = XmlPool.dom(source);
+        }
+        return node;
+    }
+
+    @Override
+    public XPathEngine.Query<Node> compile(final String query,
+        final NamespaceContext context) {
+        return new JdkXPathEngine.Compiled(query, context);
+    }
+
+    /**
+     * Compile the query into an expression.
+     * @param query The query
+     * @param ctx The context
+     * @return Compiled query
+     */
+    private static XPathExpression expression(final String query,
+        final NamespaceContext ctx) {
+        final XPath xpath = XmlPool.xpath();
+        xpath.setNamespaceContext(ctx);
+        try {
+            return xpath.compile(query);
+        } catch (final XPathExpressionException ex) {
+            throw new IllegalArgumentException(
+                String.format("Invalid XPath query '%s'", query),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Default namespace of the document, where all its unprefixed elements
+     * are, and no prefixed ones.
+     * @param node The document
+     * @return Namespace URI, empty if there is no default namespace, or
+     *  {@link #MIXED} if there is no such namespace
+     */
+    private static String defaults(final Node node) {
+        final Document doc;
+        if (node instanceof Document) {
+            doc = (Document) node;
+        } else {
+            doc = node.getOwnerDocument();
+        }
+        String uri = "";
+        if (doc != null) {
+            uri = JdkXPathEngine.DEFAULTS.get(doc);
+            if (uri == null) {
+                uri = JdkXPathEngine.scan(doc);
+                JdkXPathEngine.DEFAULTS.put(doc, uri);
+            }
+        }
+        return uri;
+    }
+
+    /**
+     * Find the default namespace of the document, looking at all its
+     * elements.
+     * @param doc The document
+     * @return Namespace URI, empty if there is no default namespace, or
+     *  {@link #MIXED} if there is no single one
+     */
+    private static String scan(final Document doc) {
+        final NodeList all = doc.getElementsByTagName("*");
+        final Set<String> prefixed = new HashSet<>(0);
+        String uri = null;
+        for (int idx = 0; idx < all.getLength(); ++idx) {
+            final Node element = all.item(idx);
+            String nsp = element.getNamespaceURI();
+            if (nsp == null) {
+                nsp = "";
+            }
+            if (element.getPrefix() != null) {
+                prefixed.add(nsp);
+            } else if (uri == null) {
+                uri = nsp;
+            } else if (!uri.equals(nsp)) {
+                uri = JdkXPathEngine.MIXED;
+                break;
+            }
+        }
+        if (uri == null) {
+            uri = "";
+        } else if (prefixed.contains(uri)) {
+            uri = JdkXPathEngine.MIXED;
+        }
+        return uri;
+    }
+
+    /**
+     * String value of the node, as XPath defines it.
+     * @param node The node
+     * @return Value
+     */
+    private static String text(final Node node) {
+        Node src = node;
+        if (node instanceof Document) {
+            src = ((Document) node).getDocumentElement();
+        }
+        return src.getTextContent();
+    }
+
+    /**
+     * Compiled query.
+     *
+     * <p>The query is compiled only once per thread, since
+     * {@link XPathExpression} is neither thread-safe nor reentrant, and
+     * per default namespace, if it has no prefixes.
+     *
+     * @since 2.0
+     */
+    @ToString(of = "query")
+    private static final class Compiled implements XPathEngine.Query<Node> {
+
+        /**
+         * The query.
+         */
+        private final transient String query;
+
+        /**
+         * Namespace context of the query.
+         */
+        private final transient NamespaceContext context;
+
+        /**
+         * Does the query have no prefixes, so that its unprefixed names
+         * depend on the default namespace of the document?
+         */
+        private final transient boolean agnostic;
+
+        /**
+         * Compiled query, by default namespaces, one map per thread.
+         */
+        private final transient ThreadLocal<Map<String, XPathExpression>>
+            expressions;
+
+        /**
+         * Compiled {@code count()} of the query, by default namespaces,
+         * one map per thread, compiled only when needed.
+         */
+        private final transient ThreadLocal<Map<String, XPathExpression>>
+            counts;
+
+        /**
+         * Ctor, which compiles the query in the current thread, to make
+         * sure it's valid.
+         * @param xpath The query
+         * @param ctx The context
+         * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+         */
+        Compiled(final String xpath, final NamespaceContext ctx) {
+            this.query = xpath;
+            this.context = ctx;
+            this.agnostic = new XPathQuery(xpath).prefixes().isEmpty();
+            this.expressions = ThreadLocal.withInitial(() -> new HashMap<>(1));
+            this.counts = ThreadLocal.withInitial(() -> new HashMap<>(1));
+            this.expression(this.expressions, "", xpath);
+        }
+
+        @Override
+        public boolean matches(final Node document) {
+            try {
+                return (Boolean) this.expression(document).evaluate(
+                    document, XPathConstants.BOOLEAN
+                );
+            } catch (final XPathExpressionException ex) {
+                throw this.invalid(ex);
+            }
+        }
+
+        @Override
+        public int count(final Node document) {
+            try {
+                return ((Double) this.expression(
+                    this.counts, this.namespace(document),
+                    String.format("count(%s)", this.query)
+                ).evaluate(document, XPathConstants.NUMBER)).intValue();
+            } catch (final XPathExpressionException ex) {
+                throw this.invalid(ex);
+            }
+        }
+
+        @Override
+        public List<String> values(final Node document) {
+            final XPathExpression expr = this.expression(document);
+            List<String> values;
+            try {
+                final NodeList nodes = (NodeList) expr.evaluate(
+                    document, XPathConstants.NODESET
+                );
+                values = new ArrayList<>(nodes.getLength());
+                for (int idx = 0; idx < nodes.getLength(); ++idx) {
+                    values.add(JdkXPathEngine.text(nodes.item(idx)));
+                }
+            } catch (final XPathExpressionException ex) {
+                try {
+                    values = Collections.singletonList(
+                        (String) expr.evaluate(
+                            document, XPathConstants.STRING
+                        )
+                    );
+                } catch (final XPathExpressionException second) {
+                    throw this.invalid(second);
+                }
+            }
+            return values;
+        }
+
+        /**
+         * Compiled query for the document.
+         * @param document The document
+         * @return Expression
+         */
+        private XPathExpression expression(final Node document) {
+            return this.expression(
+                this.expressions, this.namespace(document), this.query
+            );
+        }
+
+        /**
+         * Compiled query for the default namespace, from the cache of
+         * the current thread or compiled now.
+         * @param cache Expressions of the current thread
+         * @param uri Default namespace, empty if there is none, or
+         *  {@link JdkXPathEngine#MIXED}
+         * @param xpath The query to compile
+         * @return Expression
+         */
+        private XPathExpression expression(
+            final ThreadLocal<Map<String, XPathExpression>> cache,
+            final String uri, final String xpath) {
+            return cache.get().computeIfAbsent(
+                uri,
+                key -> {
+                    final XPathExpression expr;
+                    if (key.isEmpty()) {
+                        expr = JdkXPathEngine.expression(xpath, this.context);
+                    } else if (JdkXPathEngine.MIXED.equals(key)) {
+                        expr = JdkXPathEngine.expression(
+                            new XPathQuery(xpath).agnostic(), this.context
+                        );
+                    } else {
+                        expr = JdkXPathEngine.expression(
+                            new XPathQuery(xpath).qualified(
+                                JdkXPathEngine.PREFIX
+                            ),
+                            new XPathContext().add(JdkXPathEngine.PREFIX, key)
+                        );
+                    }
+                    return expr;
+                }
+            );
+        }
+
+        /**
+         * Default namespace of the document, which matters for this query.
+         * @param document The document
+         * @return Namespace URI, empty if it doesn't matter
+         */
+        private String namespace(final Node document) {
+            String uri = "";
+            if (this.agnostic) {
+                uri = JdkXPathEngine.defaults(document);
+            }
+            return uri;
+        }
+
+        /**
+         * Make an exception about the query, which can't be evaluated.
+         * @param cause The cause
+         * @return Exception
+         */
+        private IllegalArgumentException invalid(
+            final XPathExpressionException cause) {
+            return new IllegalArgumentException(
+                String.format("Invalid XPath query '%s'", this.query),
+                cause
+            );
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Map, which evicts the least recently used entry, when there are too
+ * many of them.
+ *
+ * <p>Objects of this class are not thread-safe.
+ *
+ * @param <K> Type of keys
+ * @param <V> Type of values
+ * @since 2.0
+ */
+final class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+    /**
+     * Serialization marker.
+     */
+    private static final long serialVersionUID = 0x4C52554DL;
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int max;
+
+    /**
+     * Ctor.
+     * @param limit Maximum number of entries
+     */
+    LruMap(final int limit) {
+        super(16, 0.75f, true);
+        this.max = limit;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+        return this.size() > this.max;
+    }
+}
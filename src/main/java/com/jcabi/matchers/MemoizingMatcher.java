@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+
+/**
+ * Matcher, which evaluates the item only once, even when the mismatch
+ * is described.
+ *
+ * <p>What is found out about the item, the value of evaluation, is
+ * checked by {@link #accepts(Object)}. When the item doesn't match, the
+ * value is memorized for {@code describeMismatch()}, see
+ * {@link MismatchMemo}, which explains it without evaluating the item
+ * again.
+ *
+ * <p>Objects of this class are thread-safe, as long as the values
+ * are checked and explained in a thread-safe way.
+ *
+ * @param <T> Type of param
+ * @param <V> Type of value of evaluation
+ * @since 2.0
+ */
+abstract class MemoizingMatcher<T, V> extends TypeSafeMatcher<T> {
+
+    /**
+     * Value of the last failed evaluation.
+     */
+    private final transient MismatchMemo<V> memo;
+
+    /**
+     * Ctor.
+     */
+    MemoizingMatcher() {
+        super();
+        this.memo = new MismatchMemo<>();
+    }
+
+    @Override
+    public final boolean matchesSafely(final T item) {
+        this.memo.clear();
+        final V value = this.evaluate(item);
+        final boolean matches = this.accepts(value);
+        if (!matches) {
+            this.memo.put(item, value);
+        }
+        return matches;
+    }
+
+    @Override
+    public final void describeMismatchSafely(final T item,
+        final Description description) {
+        V value = this.memo.take(item);
+        if (value == null) {
+            value = this.evaluate(item);
+        }
+        this.explain(value, description);
+    }
+
+    /**
+     * Evaluate the item.
+     * @param item The item
+     * @return Value of evaluation
+     */
+    protected abstract V evaluate(T item);
+
+    /**
+     * Does the value of evaluation match?
+     * @param value Value of evaluation
+     * @return TRUE if it does
+     */
+    protected abstract boolean accepts(V value);
+
+    /**
+     * Explain why the value of evaluation doesn't match.
+     * @param value Value of evaluation
+     * @param description Description to append to
+     */
+    protected abstract void explain(V value, Description description);
+}
@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+
+/**
+ * Memo of the last mismatch of a matcher in the current thread.
+ *
+ * <p>Hamcrest calls {@code matches()} first and then, if it fails,
+ * {@code describeMismatch()} with the same item, which in a
+ * {@link org.hamcrest.DiagnosingMatcher} evaluates everything again.
+ * A matcher clears this memo at the start of every evaluation, puts
+ * into it what it found out about the item it failed on, and takes it
+ * back when it's asked to describe the mismatch of the very same item.
+ * Anything taken is removed from the memo, so nothing found out in one
+ * evaluation is ever trusted in another one.
+ *
+ * <p>The mismatch is not always described, for example, when the matcher
+ * is negated by {@code not()}, and then the memo stays in the thread until
+ * the next evaluation. That's why it refers to the item only weakly, so
+ * that a big document isn't kept alive by it, and to the value softly,
+ * so that it may be collected when memory is short. The item is evaluated
+ * again, if the value is gone.
+ *
+ * <p>Objects of this class are thread-safe, since every thread has its
+ * own memo.
+ *
+ * @param <V> Type of value to memorize
+ * @since 2.0
+ */
+final class MismatchMemo<V> {
+
+    /**
+     * References to the item and its value, in the current thread.
+     */
+    private final transient ThreadLocal<Reference<?>[]> last =
+        new ThreadLocal<>();
+
+    /**
+     * Memorize the value of the item.
+     * @param item The item, which a matcher failed on
+     * @param value The value to memorize
+     */
+    void put(final Object item, final V value) {
+        this.last.set(
+            new Reference<?>[] {
+                new WeakReference<>(item),
+                new SoftReference<>(value),
+            }
+        );
+    }
+
+    /**
+     * Forget what was memorized, before a new evaluation.
+     */
+    void clear() {
+        this.last.remove();
+    }
+
+    /**
+     * Take the value back and clear the memo.
+     * @param item The item
+     * @return The value, if it was memorized for the very same item,
+     *  or NULL otherwise
+     */
+    @SuppressWarnings("unchecked")
+    V take(final Object item) {
+        final Reference<?>[] pair = this.last.get();
+        V value = null;
+        if (pair != null) {
+            this.last.remove();
+            if (pair[0].get() == item) {
+                value = (V) pair[1].get();
+            }
+        }
+        return value;
+    }
+}
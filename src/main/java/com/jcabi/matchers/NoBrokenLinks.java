@@ -12,8 +12,9 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Collections;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.hamcrest.BaseMatcher;
@@ -21,9 +22,15 @@ import org.hamcrest.Description;
 
 /**
  * Finds broken links in HTML.
+ *
+ * <p>Broken links are found anew in every evaluation, and only the ones
+ * found in the last evaluation in the current thread are kept, to be
+ * printed by {@link #describeTo(Description)}. Objects of this class
+ * are thread-safe.
+ *
  * @since 0.3.4
  */
-@ToString
+@ToString(of = "home")
 @EqualsAndHashCode(callSuper = false, of = "home")
 public final class NoBrokenLinks extends BaseMatcher<Response> {
 
@@ -33,9 +40,9 @@ public final class NoBrokenLinks extends BaseMatcher<Response> {
     private final transient URI home;
 
     /**
-     * List of broken links.
+     * Broken links found in the last evaluation, per thread.
      */
-    private final transient Collection<URI> broken;
+    private final transient ThreadLocal<Collection<URI>> broken;
 
     /**
      * Public ctor.
@@ -44,21 +51,27 @@ public final class NoBrokenLinks extends BaseMatcher<Response> {
     public NoBrokenLinks(final URI uri) {
         super();
         this.home = uri;
-        this.broken = new LinkedList<>();
+        this.broken = ThreadLocal.withInitial(Collections::emptyList);
     }
 
     @Override
     public boolean matches(final Object item) {
-        this.check(Response.class.cast(item));
-        return this.broken.isEmpty();
+        final Collection<URI> found = this.check(Response.class.cast(item));
+        if (found.isEmpty()) {
+            this.broken.remove();
+        } else {
+            this.broken.set(found);
+        }
+        return found.isEmpty();
     }
 
     @Override
     public void describeTo(final Description description) {
+        final Collection<URI> found = this.broken.get();
         description.appendText(
             Logger.format(
                 "%d broken link(s) found: %[list]s",
-                this.broken.size(), this.broken
+                found.size(), found
             )
         );
     }
@@ -66,8 +79,9 @@ public final class NoBrokenLinks extends BaseMatcher<Response> {
     /**
      * Check for validness.
      * @param response Response to check
+     * @return Broken links found
      */
-    private void check(final Response response) {
+    private Collection<URI> check(final Response response) {
         final Collection<String> links = new XmlResponse(response).xml().xpath(
             new StringBuilder("//head/link/@href")
                 .append(" | //body//a/@href")
@@ -81,7 +95,7 @@ public final class NoBrokenLinks extends BaseMatcher<Response> {
             this, "#assertThat(): %d links found: %[list]s",
             links.size(), links
         );
-        this.broken.clear();
+        final Collection<URI> found = new ArrayList<>(0);
         for (final String link : links) {
             final URI uri;
             if (link.isEmpty() || link.charAt(0) != '/') {
@@ -90,9 +104,10 @@ public final class NoBrokenLinks extends BaseMatcher<Response> {
                 uri = this.home.resolve(link);
             }
             if (!uri.isAbsolute() || !NoBrokenLinks.isValid(uri)) {
-                this.broken.add(uri);
+                found.add(uri);
             }
         }
+        return found;
     }
 
     /**
@@ -0,0 +1,249 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hamcrest.Description;
+
+/**
+ * Matcher of JAXB objects, which survive marshalling and unmarshalling.
+ *
+ * <p>The object is marshalled into a buffer, unmarshalled from it and
+ * the result is marshalled into another buffer. When the buffers are not
+ * the same, they are compared as explained in {@link XmlDiff}, and the
+ * first difference is memorized, see {@link MemoizingMatcher}. The buffers
+ * are reused by the thread, unless they grow bigger than
+ * {@link #MAX_BUFFER} bytes.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @param <T> Type of param
+ * @since 2.0
+ */
+@ToString(of = "deps")
+@EqualsAndHashCode(callSuper = false, of = "deps")
+final class RoundTripMatcher<T> extends MemoizingMatcher<T, String> {
+
+    /**
+     * Maximum size of a buffer to keep for the next evaluation, in bytes.
+     */
+    static final int MAX_BUFFER = 1 << 20;
+
+    /**
+     * Buffers of the current thread: of the object and of the result
+     * of its unmarshalling.
+     */
+    private static final ThreadLocal<RoundTripMatcher.Buffer[]> BUFFERS =
+        ThreadLocal.withInitial(
+            () -> new RoundTripMatcher.Buffer[] {
+                new RoundTripMatcher.Buffer(), new RoundTripMatcher.Buffer(),
+            }
+        );
+
+    /**
+     * Dependencies to take into account.
+     */
+    private final transient List<Class<?>> deps;
+
+    /**
+     * Ctor.
+     * @param classes Dependencies to take into account
+     */
+    RoundTripMatcher(final Class<?>... classes) {
+        super();
+        this.deps = Arrays.asList(classes.clone());
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        description.appendText("an object, which survives JAXB round trip");
+    }
+
+    @Override
+    protected String evaluate(final T item) {
+        return this.diff(item);
+    }
+
+    @Override
+    protected boolean accepts(final String diff) {
+        return diff == null;
+    }
+
+    @Override
+    protected void explain(final String diff, final Description description) {
+        description.appendText(diff);
+    }
+
+    /**
+     * Marshal, unmarshal and marshal again, and find the first difference.
+     * @param input The object
+     * @return The difference or NULL if there is none
+     */
+    private String diff(final T input) {
+        final JaxbBinding binding = JaxbConverter.binding(
+            input, this.deps.toArray(new Class<?>[0])
+        );
+        final RoundTripMatcher.Buffer[] buffers =
+            RoundTripMatcher.BUFFERS.get();
+        final RoundTripMatcher.Buffer before = buffers[0];
+        final RoundTripMatcher.Buffer after = buffers[1];
+        final Object element = JaxbConverter.element(input);
+        String diff;
+        try {
+            try {
+                RoundTripMatcher.marshal(binding, element, before);
+            } catch (final JAXBException ex) {
+                throw new AssertionError(ex);
+            }
+            String step = "unmarshalled back";
+            try {
+                final Object back = binding.unmarshaller().unmarshal(
+                    new StreamSource(before.input()),
+                    RoundTripMatcher.declared(element)
+                );
+                step = "marshalled again after unmarshalling";
+                RoundTripMatcher.marshal(binding, back, after);
+                diff = RoundTripMatcher.compare(before, after);
+            } catch (final JAXBException ex) {
+                diff = String.format("can't be %s: %s", step, ex);
+            }
+        } finally {
+            if (before.capacity() > RoundTripMatcher.MAX_BUFFER
+                || after.capacity() > RoundTripMatcher.MAX_BUFFER) {
+                RoundTripMatcher.BUFFERS.remove();
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Marshal the element into the buffer, without formatting.
+     * @param binding The context
+     * @param element The element to marshal
+     * @param buffer The buffer, which is emptied first
+     * @throws JAXBException If it fails to marshal
+     */
+    private static void marshal(final JaxbBinding binding,
+        final Object element, final RoundTripMatcher.Buffer buffer)
+        throws JAXBException {
+        buffer.reset();
+        final Marshaller mrsh = binding.marshaller();
+        mrsh.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+        mrsh.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+        mrsh.marshal(element, buffer);
+    }
+
+    /**
+     * Type to unmarshal the element into.
+     * @param element The element
+     * @return Type
+     */
+    private static Class<?> declared(final Object element) {
+        final Class<?> type;
+        if (element instanceof JAXBElement) {
+            type = ((JAXBElement<?>) element).getDeclaredType();
+        } else {
+            type = element.getClass();
+        }
+        return type;
+    }
+
+    /**
+     * Compare two documents, first byte by byte, then event by event.
+     * @param left The original document
+     * @param right The document after the round trip
+     * @return The difference or NULL if there is none
+     */
+    private static String compare(final RoundTripMatcher.Buffer left,
+        final RoundTripMatcher.Buffer right) {
+        String diff = null;
+        if (!left.same(right)) {
+            final XMLStreamReader expected = XmlPool.stax(
+                new StreamSource(left.input())
+            );
+            try {
+                final XMLStreamReader actual = XmlPool.stax(
+                    new StreamSource(right.input())
+                );
+                try {
+                    diff = new XmlDiff(expected, actual).first();
+                } finally {
+                    RoundTripMatcher.close(actual);
+                }
+            } finally {
+                RoundTripMatcher.close(expected);
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Close the reader.
+     * @param reader The reader
+     */
+    private static void close(final XMLStreamReader reader) {
+        try {
+            reader.close();
+        } catch (final XMLStreamException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Byte buffer, which can be read without copying.
+     *
+     * @since 2.0
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        /**
+         * Ctor.
+         */
+        Buffer() {
+            super();
+        }
+
+        /**
+         * Stream of the bytes written so far, not copied.
+         * @return Stream
+         */
+        InputStream input() {
+            return new ByteArrayInputStream(this.buf, 0, this.count);
+        }
+
+        /**
+         * How many bytes it can keep without growing.
+         * @return Capacity
+         */
+        int capacity() {
+            return this.buf.length;
+        }
+
+        /**
+         * Are the bytes the same as in the other buffer?
+         * @param other The other buffer
+         * @return TRUE if they are
+         */
+        boolean same(final RoundTripMatcher.Buffer other) {
+            boolean same = this.count == other.count;
+            for (int pos = 0; same && pos < this.count; ++pos) {
+                same = this.buf[pos] == other.buf[pos];
+            }
+            return same;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.transform.Source;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+import lombok.ToString;
+import net.sf.saxon.om.NodeInfo;
+import net.sf.saxon.s9api.Axis;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.SaxonApiUncheckedException;
+import net.sf.saxon.s9api.UnprefixedElementMatchingPolicy;
+import net.sf.saxon.s9api.XPathCompiler;
+import net.sf.saxon.s9api.XPathExecutable;
+import net.sf.saxon.s9api.XPathSelector;
+import net.sf.saxon.s9api.XdmItem;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.XdmNodeKind;
+
+/**
+ * XPath 3.1 engine of Saxon-HE, which evaluates queries against
+ * TinyTree documents.
+ *
+ * <p>Saxon-HE is an optional dependency, it has to be added to the
+ * classpath explicitly. Text-based inputs are parsed straight into
+ * a TinyTree, without building a DOM, which takes much less memory
+ * for big documents.
+ *
+ * <p>A query matches a document when the effective boolean value of
+ * its result is TRUE: it selects at least one node, or it is a boolean
+ * expression, which is TRUE, like {@code count(//p) > 1}. Unprefixed
+ * element names of queries without namespace prefixes match elements
+ * without prefixes, in any default namespace, as {@link XPathEngine}
+ * requires. Every document is scanned once for the namespaces of its
+ * unprefixed elements. When they all are in one namespace, it is declared
+ * as the default element namespace of the query. Only when there are
+ * nested default namespaces, like an inline SVG in XHTML, unprefixed names
+ * of the query match elements in any namespace, and so also prefixed
+ * elements with the same local names. Nodes are counted by the
+ * {@code count()} function of XPath, without collecting them.
+ *
+ * <p>Engines made by the no-argument constructor share one processor,
+ * so they are all equal and a document built by one of them is used by
+ * all of them. Engines with explicitly given processors are equal when
+ * their processors share the same configuration, since documents can't
+ * be used across configurations.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString
+public final class SaxonXPathEngine implements XPathEngine<XdmNode> {
+
+    /**
+     * Processor of all engines made by the no-argument constructor.
+     */
+    private static final Processor SHARED = new Processor(false);
+
+    /**
+     * Marker of documents, where unprefixed elements are in different
+     * default namespaces.
+     */
+    private static final String MIXED = "*";
+
+    /**
+     * Default namespaces of documents, which were scanned already.
+     */
+    private static final Map<NodeInfo, String> DEFAULTS =
+        Collections.synchronizedMap(new WeakHashMap<>(0));
+
+    /**
+     * Saxon processor.
+     */
+    private final transient Processor processor;
+
+    /**
+     * Public ctor.
+     */
+    public SaxonXPathEngine() {
+        this(SaxonXPathEngine.SHARED);
+    }
+
+    /**
+     * Public ctor.
+     * @param proc Saxon processor to use
+     */
+    public SaxonXPathEngine(final Processor proc) {
+        this.processor = proc;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof SaxonXPathEngine
+            && this.processor.getUnderlyingConfiguration()
+            == ((SaxonXPathEngine) obj).processor.getUnderlyingConfiguration();
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(
+            this.processor.getUnderlyingConfiguration()
+        );
+    }
+
+    @Override
+    public XdmNode document(final Source source) {
+        Source src = source;
+        if (source instanceof StringSource) {
+            src = ((StringSource) source).stream();
+        }
+        if (src instanceof StreamSource) {
+            src = new SAXSource(
+                XmlPool.reader(), SAXSource.sourceToInputSource(src)
+            );
+        }
+        try {
+            return this.processor.newDocumentBuilder().build(src);
+        } catch (final SaxonApiException ex) {
+            throw new IllegalArgumentException(
+                "Can't parse, most probably the XML is invalid", ex
+            );
+        }
+    }
+
+    @Override
+    public XPathEngine.Query<XdmNode> compile(final String query,
+        final NamespaceContext context) {
+        return new SaxonXPathEngine.Compiled(this.processor, query, context);
+    }
+
+    /**
+     * Default namespace of the document, where all its unprefixed elements
+     * are.
+     * @param document The document
+     * @return Namespace URI, empty if there is no default namespace, or
+     *  {@link #MIXED} if there is no single one
+     */
+    private static String defaults(final XdmNode document) {
+        final NodeInfo root = document.getUnderlyingNode().getRoot();
+        String uri = SaxonXPathEngine.DEFAULTS.get(root);
+        if (uri == null) {
+            uri = SaxonXPathEngine.scan(document);
+            SaxonXPathEngine.DEFAULTS.put(root, uri);
+        }
+        return uri;
+    }
+
+    /**
+     * Find the default namespace of the document, looking at all its
+     * elements.
+     * @param document The document
+     * @return Namespace URI, empty if there is no default namespace, or
+     *  {@link #MIXED} if there is no single one
+     */
+    private static String scan(final XdmNode document) {
+        String uri = null;
+        final Iterator<XdmNode> all = document.getRoot()
+            .axisIterator(Axis.DESCENDANT);
+        while (all.hasNext() && !SaxonXPathEngine.MIXED.equals(uri)) {
+            final XdmNode node = all.next();
+            if (node.getNodeKind() == XdmNodeKind.ELEMENT
+                && node.getNodeName().getPrefix().isEmpty()) {
+                final String nsp = node.getNodeName().getNamespace();
+                if (uri == null) {
+                    uri = nsp;
+                } else if (!uri.equals(nsp)) {
+                    uri = SaxonXPathEngine.MIXED;
+                }
+            }
+        }
+        if (uri == null) {
+            uri = "";
+        }
+        return uri;
+    }
+
+    /**
+     * Compiled query.
+     *
+     * <p>A query without prefixes is compiled once per default namespace
+     * of documents, with the namespace declared as the default element
+     * namespace. Compiled queries are thread-safe.
+     *
+     * @since 2.0
+     */
+    private static final class Compiled implements XPathEngine.Query<XdmNode> {
+
+        /**
+         * Saxon processor.
+         */
+        private final transient Processor processor;
+
+        /**
+         * The query.
+         */
+        private final transient String query;
+
+        /**
+         * Namespace context of the query.
+         */
+        private final transient NamespaceContext context;
+
+        /**
+         * Does the query have no prefixes, so that its unprefixed names
+         * depend on the default namespace of the document?
+         */
+        private final transient boolean agnostic;
+
+        /**
+         * The query and its {@code count()}, by default namespaces.
+         */
+        private final transient Map<String, XPathExecutable[]> executables;
+
+        /**
+         * Ctor, which compiles the query, to make sure it's valid.
+         * @param proc Saxon processor
+         * @param xpath The query
+         * @param ctx The context
+         * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+         */
+        Compiled(final Processor proc, final String xpath,
+            final NamespaceContext ctx) {
+            this.processor = proc;
+            this.query = xpath;
+            this.context = ctx;
+            this.agnostic = new XPathQuery(xpath).prefixes().isEmpty();
+            this.executables = new ConcurrentHashMap<>(1);
+            this.executables.put("", this.compile(""));
+        }
+
+        @Override
+        public boolean matches(final XdmNode document) {
+            try {
+                return this.selector(document, 0).effectiveBooleanValue();
+            } catch (final SaxonApiException ex) {
+                throw new IllegalArgumentException(
+                    "Can't evaluate XPath query", ex
+                );
+            }
+        }
+
+        @Override
+        public int count(final XdmNode document) {
+            try {
+                return Integer.parseInt(
+                    this.selector(document, 1).evaluateSingle()
+                        .getStringValue()
+                );
+            } catch (final SaxonApiException ex) {
+                throw new IllegalArgumentException(
+                    "Can't evaluate XPath query", ex
+                );
+            }
+        }
+
+        @Override
+        public List<String> values(final XdmNode document) {
+            final List<String> values = new ArrayList<>(1);
+            try {
+                for (final XdmItem item : this.selector(document, 0)) {
+                    values.add(item.getStringValue());
+                }
+            } catch (final SaxonApiUncheckedException ex) {
+                throw new IllegalArgumentException(
+                    "Can't evaluate XPath query", ex
+                );
+            }
+            return values;
+        }
+
+        /**
+         * Make a selector of the query, with the document as a context.
+         * @param document The document
+         * @param idx Zero for the query itself, one for its count
+         * @return Selector
+         */
+        private XPathSelector selector(final XdmNode document,
+            final int idx) {
+            String uri = "";
+            if (this.agnostic) {
+                uri = SaxonXPathEngine.defaults(document);
+            }
+            final XPathSelector selector = this.executables
+                .computeIfAbsent(uri, this::compile)[idx].load();
+            try {
+                selector.setContextItem(document);
+            } catch (final SaxonApiException ex) {
+                throw new IllegalArgumentException(
+                    "Can't evaluate XPath query", ex
+                );
+            }
+            return selector;
+        }
+
+        /**
+         * Compile the query and its count for the default namespace.
+         * @param uri Default namespace, empty if there is none, or
+         *  {@link SaxonXPathEngine#MIXED}
+         * @return The query and its count
+         */
+        private XPathExecutable[] compile(final String uri) {
+            final XPathCompiler compiler = this.processor.newXPathCompiler();
+            for (final String prefix
+                : new XPathQuery(this.query).prefixes()) {
+                final String bound = this.context.getNamespaceURI(prefix);
+                if (bound != null && !XMLConstants.NULL_NS_URI.equals(bound)) {
+                    compiler.declareNamespace(prefix, bound);
+                }
+            }
+            if (SaxonXPathEngine.MIXED.equals(uri)) {
+                compiler.setUnprefixedElementMatchingPolicy(
+                    UnprefixedElementMatchingPolicy.ANY_NAMESPACE
+                );
+            } else if (!uri.isEmpty()) {
+                compiler.declareNamespace("", uri);
+            }
+            try {
+                return new XPathExecutable[] {
+                    compiler.compile(this.query),
+                    compiler.compile(String.format("count((%s))", this.query)),
+                };
+            } catch (final SaxonApiException ex) {
+                throw new IllegalArgumentException(
+                    String.format("Invalid XPath query '%s'", this.query),
+                    ex
+                );
+            }
+        }
+    }
+}
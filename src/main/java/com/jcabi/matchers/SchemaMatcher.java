@@ -0,0 +1,165 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.transform.Source;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hamcrest.Description;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Matcher of XML validity against XSD schema.
+ *
+ * <p>The schema is compiled only once, see {@link Schemas}. Text-based
+ * inputs are validated while they are parsed, without building a DOM.
+ * Errors of the last failed validation are memorized, see
+ * {@link MemoizingMatcher}.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @param <T> Type of param
+ * @since 2.0
+ */
+@ToString(of = "name")
+@EqualsAndHashCode(callSuper = false, of = "schema")
+final class SchemaMatcher<T> extends MemoizingMatcher<T, List<String>> {
+
+    /**
+     * Name of the schema.
+     */
+    private final transient String name;
+
+    /**
+     * Compiled schema.
+     */
+    private final transient Schema schema;
+
+    /**
+     * Ctor.
+     * @param label Name of the schema
+     * @param xsd Compiled schema
+     */
+    SchemaMatcher(final String label, final Schema xsd) {
+        super();
+        this.name = label;
+        this.schema = xsd;
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        description.appendText("an XML document valid against XSD ")
+            .appendText(this.name);
+    }
+
+    @Override
+    protected List<String> evaluate(final T item) {
+        return this.validate(item);
+    }
+
+    @Override
+    protected boolean accepts(final List<String> errors) {
+        return errors.isEmpty();
+    }
+
+    @Override
+    protected void explain(final List<String> errors,
+        final Description description) {
+        description.appendText(
+            String.format("%d error(s) found: ", errors.size())
+        ).appendValueList("", ", ", "", errors);
+    }
+
+    /**
+     * Validate the input.
+     * @param input The input
+     * @return Errors found, empty if it's valid
+     */
+    private List<String> validate(final T input) {
+        Source source = XhtmlMatchers.xhtml(input);
+        if (source instanceof StringSource) {
+            source = ((StringSource) source).stream();
+        }
+        if (source instanceof StreamSource) {
+            source = new SAXSource(
+                XmlPool.reader(), SAXSource.sourceToInputSource(source)
+            );
+        }
+        final List<String> errors = new ArrayList<>(0);
+        final Validator validator = this.schema.newValidator();
+        validator.setErrorHandler(new SchemaMatcher.Errors(errors));
+        try {
+            validator.validate(source);
+        } catch (final SAXParseException ex) {
+            // the error is in the list already
+        } catch (final SAXException | IOException ex) {
+            throw new IllegalArgumentException(
+                "Can't validate, most probably the XML is invalid", ex
+            );
+        }
+        return errors;
+    }
+
+    /**
+     * Handler, which collects errors and stops at the fatal one.
+     *
+     * @since 2.0
+     */
+    private static final class Errors implements ErrorHandler {
+
+        /**
+         * Errors found.
+         */
+        private final transient List<String> found;
+
+        /**
+         * Ctor.
+         * @param list Where to put errors found
+         */
+        Errors(final List<String> list) {
+            this.found = list;
+        }
+
+        @Override
+        public void warning(final SAXParseException ex) {
+            // warnings don't make a document invalid
+        }
+
+        @Override
+        public void error(final SAXParseException ex) {
+            this.add(ex);
+        }
+
+        @Override
+        public void fatalError(final SAXParseException ex)
+            throws SAXParseException {
+            this.add(ex);
+            throw ex;
+        }
+
+        /**
+         * Add the error with its position, unless it's reported already.
+         * @param ex The error
+         */
+        private void add(final SAXParseException ex) {
+            final String error = String.format(
+                "%d:%d %s", ex.getLineNumber(), ex.getColumnNumber(),
+                ex.getMessage()
+            );
+            if (!this.found.contains(error)) {
+                this.found.add(error);
+            }
+        }
+    }
+}
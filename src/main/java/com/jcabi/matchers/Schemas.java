@@ -0,0 +1,88 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.net.URL;
+import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import org.xml.sax.SAXException;
+
+/**
+ * Cache of compiled XSD schemas, shared by all threads.
+ *
+ * <p>Schemas are compiled only once per JVM, see {@link ContentCache}.
+ * No more than {@link #MAX} of them are kept.
+ *
+ * @since 2.0
+ */
+final class Schemas {
+
+    /**
+     * Maximum number of schemas to keep.
+     */
+    static final int MAX = 64;
+
+    /**
+     * Compiled schemas.
+     */
+    private static final ContentCache<Schema> CACHE =
+        new ContentCache<>(Schemas.MAX, Schemas::compile);
+
+    /**
+     * Utility class.
+     */
+    private Schemas() {
+        // intentionally empty
+    }
+
+    /**
+     * Compiled schema, loaded from the URL. Its relative imports and
+     * includes are resolved against the URL.
+     * @param url Location of the schema
+     * @return Schema
+     */
+    static Schema schema(final URL url) {
+        return Schemas.CACHE.get(url);
+    }
+
+    /**
+     * Compiled schema, given as a text.
+     * @param xsd Text of the schema
+     * @return Schema
+     */
+    static Schema schema(final String xsd) {
+        return Schemas.CACHE.get(xsd);
+    }
+
+    /**
+     * How many schemas are in cache now.
+     * @return Number of them
+     */
+    static int size() {
+        return Schemas.CACHE.size();
+    }
+
+    /**
+     * Compile the schema.
+     * @param source Source of it
+     * @return Schema
+     */
+    private static Schema compile(final Source source) {
+        try {
+            return SchemaFactory.newInstance(
+                XMLConstants.W3C_XML_SCHEMA_NS_URI
+            ).newSchema(source);
+        } catch (final SAXException ex) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Can't compile XSD schema %s", source.getSystemId()
+                ),
+                ex
+            );
+        }
+    }
+}
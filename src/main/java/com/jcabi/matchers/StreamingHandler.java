@@ -0,0 +1,253 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Path;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXResult;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+import org.w3c.dom.Node;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+
+/**
+ * SAX handler, which feeds {@link StreamingXPath.Cursor}s with events of
+ * a document, while it is being parsed.
+ *
+ * <p>Adjacent character events are joined into text nodes, the same way
+ * XPath sees them in a DOM. Parsing stops as soon as all cursors know
+ * their results, so the rest of the document is not even read.
+ *
+ * <p>Objects of this class are mutable and not thread-safe.
+ *
+ * @since 2.0
+ */
+final class StreamingHandler extends DefaultHandler2 {
+
+    /**
+     * Cursors to feed.
+     */
+    private final transient Iterable<StreamingXPath.Cursor> cursors;
+
+    /**
+     * Text of the current text node.
+     */
+    private final transient StringBuilder text;
+
+    /**
+     * Ctor.
+     * @param crs Cursors to feed
+     */
+    StreamingHandler(final Iterable<StreamingXPath.Cursor> crs) {
+        super();
+        this.cursors = crs;
+        this.text = new StringBuilder(0);
+    }
+
+    /**
+     * Parse the input and feed the cursors. The method understands the
+     * same input types as {@link XhtmlMatchers#xhtml(Object)}. An
+     * {@link InputStream} is read in the encoding declared by the document.
+     * @param input The input
+     */
+    void read(final Object input) {
+        try {
+            this.parse(input);
+        } catch (final StreamingHandler.Stop ex) {
+            Logger.debug(this, "#read(): %s", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void startElement(final String uri, final String local,
+        final String qname, final Attributes attrs) throws SAXException {
+        this.flush();
+        final String namespace;
+        if (uri == null) {
+            namespace = "";
+        } else {
+            namespace = uri;
+        }
+        final String name = StreamingXPath.local(local, qname);
+        for (final StreamingXPath.Cursor cursor : this.cursors) {
+            cursor.start(namespace, name, qname, attrs);
+        }
+        this.stop();
+    }
+
+    @Override
+    public void endElement(final String uri, final String local,
+        final String qname) throws SAXException {
+        this.flush();
+        for (final StreamingXPath.Cursor cursor : this.cursors) {
+            cursor.end();
+        }
+        this.stop();
+    }
+
+    @Override
+    public void characters(final char[] chars, final int start,
+        final int length) {
+        this.text.append(chars, start, length);
+    }
+
+    @Override
+    public void ignorableWhitespace(final char[] chars, final int start,
+        final int length) {
+        this.text.append(chars, start, length);
+    }
+
+    @Override
+    public void processingInstruction(final String target,
+        final String data) {
+        this.flush();
+    }
+
+    @Override
+    public void comment(final char[] chars, final int start,
+        final int length) {
+        this.flush();
+    }
+
+    /**
+     * Parse the input and feed the cursors, until the end of the document
+     * or until {@link StreamingHandler.Stop} is thrown.
+     * @param input The input
+     * @throws StreamingHandler.Stop If all cursors are decided
+     */
+    private void parse(final Object input) throws StreamingHandler.Stop {
+        Object target = input;
+        if (input instanceof StringSource) {
+            target = ((StringSource) input).stream();
+            if (target instanceof StreamSource) {
+                target = SAXSource.sourceToInputSource((Source) target);
+            }
+        }
+        try {
+            if (target instanceof Source || target instanceof Node) {
+                final Source source;
+                if (target instanceof Node) {
+                    source = new DOMSource((Node) target);
+                } else {
+                    source = (Source) target;
+                }
+                final SAXResult result = new SAXResult(this);
+                result.setLexicalHandler(this);
+                XmlPool.transformer().transform(source, result);
+            } else {
+                final XMLReader reader = XmlPool.reader();
+                reader.setContentHandler(this);
+                reader.setProperty(
+                    "http://xml.org/sax/properties/lexical-handler", this
+                );
+                reader.parse(StreamingHandler.source(target));
+            }
+        } catch (final TransformerException ex) {
+            Throwable cause = ex;
+            while (cause != null) {
+                if (cause instanceof StreamingHandler.Stop) {
+                    throw (StreamingHandler.Stop) cause;
+                }
+                cause = cause.getCause();
+            }
+            throw new IllegalArgumentException(
+                "Can't parse, most probably the XML is invalid", ex
+            );
+        } catch (final StreamingHandler.Stop ex) {
+            throw ex;
+        } catch (final SAXException | IOException ex) {
+            throw new IllegalArgumentException(
+                "Can't parse, most probably the XML is invalid", ex
+            );
+        }
+    }
+
+    /**
+     * Stop parsing, if all cursors are decided.
+     * @throws StreamingHandler.Stop If they are
+     */
+    private void stop() throws StreamingHandler.Stop {
+        boolean decided = true;
+        for (final StreamingXPath.Cursor cursor : this.cursors) {
+            if (!cursor.decided()) {
+                decided = false;
+                break;
+            }
+        }
+        if (decided) {
+            throw new StreamingHandler.Stop();
+        }
+    }
+
+    /**
+     * Send the current text node to the cursors, if there is one.
+     */
+    private void flush() {
+        if (this.text.length() > 0) {
+            final String node = this.text.toString();
+            this.text.setLength(0);
+            for (final StreamingXPath.Cursor cursor : this.cursors) {
+                cursor.text(node);
+            }
+        }
+    }
+
+    /**
+     * Make SAX input source.
+     * @param input The input
+     * @return Input source
+     */
+    private static InputSource source(final Object input) {
+        final InputSource source;
+        if (input instanceof InputSource) {
+            source = (InputSource) input;
+        } else if (input instanceof InputStream) {
+            source = new InputSource((InputStream) input);
+        } else if (input instanceof Reader) {
+            source = new InputSource((Reader) input);
+        } else if (input instanceof Path) {
+            source = new InputSource(((Path) input).toUri().toString());
+        } else {
+            source = new InputSource(new StringReader(input.toString()));
+        }
+        return source;
+    }
+
+    /**
+     * Signal to stop parsing.
+     *
+     * @since 2.0
+     */
+    private static final class Stop extends SAXException {
+
+        /**
+         * Serialization marker.
+         */
+        private static final long serialVersionUID = 0x7654DEADBEEFL;
+
+        /**
+         * Ctor.
+         */
+        Stop() {
+            super("All XPath queries are decided");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,992 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import com.jcabi.xml.XPathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.namespace.NamespaceContext;
+import lombok.EqualsAndHashCode;
+import org.xml.sax.Attributes;
+
+/**
+ * Forward-only XPath query, which can be evaluated while the document
+ * is being parsed, without building a DOM.
+ *
+ * <p>Only a subset of XPath is supported: absolute location paths with
+ * child ({@code /}) and descendant ({@code //}) axes, element name tests
+ * (with or without namespace prefix, or {@code *}), a final attribute
+ * ({@code @name}) or {@code text()} step, attribute predicates
+ * ({@code [@id]}, {@code [@id='5']}, {@code [@id!='5']}) and text
+ * predicates on the last step ({@code [.='x']}, {@code [text()='x']}).
+ * The whole path may be wrapped into {@code count()} and compared with
+ * a number, for example {@code count(//row) > 5}. Everything else
+ * is rejected with {@link IllegalArgumentException}.
+ *
+ * <p>When the query has no namespace prefixes at all, unprefixed element
+ * names match elements written without prefixes, in any default namespace,
+ * the same way {@link XPathEngine} defines it. Wildcards match elements
+ * and attributes in any namespace.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode(of = "query")
+final class StreamingXPath {
+
+    /**
+     * Maximum number of steps in a query.
+     */
+    private static final int MAX = 62;
+
+    /**
+     * Namespace of a name test, which means any default namespace: it
+     * matches elements without prefixes only.
+     */
+    private static final String DEFAULT = "#default";
+
+    /**
+     * Comparison operators, longest first.
+     */
+    private static final String[] OPERATORS = {
+        "!=", "<=", ">=", "=", "<", ">",
+    };
+
+    /**
+     * The query.
+     */
+    private final transient String query;
+
+    /**
+     * Element steps.
+     */
+    private final transient StreamingXPath.Step[] steps;
+
+    /**
+     * Final attribute or text() step, or NULL if the query selects elements.
+     */
+    private final transient StreamingXPath.Step tail;
+
+    /**
+     * Bit mask of element steps with descendant axis.
+     */
+    private final transient long descendants;
+
+    /**
+     * Comparison operator for the number of nodes found.
+     */
+    private final transient String operator;
+
+    /**
+     * The number to compare with.
+     */
+    private final transient double operand;
+
+    /**
+     * Ctor.
+     * @param xpath The query
+     * @param ctx Namespace context
+     * @checkstyle ConstructorsCodeFreeCheck (4 lines)
+     */
+    StreamingXPath(final String xpath, final NamespaceContext ctx) {
+        this(new StreamingXPath.Parser(xpath, new XPathContext().merge(ctx)));
+    }
+
+    /**
+     * Private ctor.
+     * @param parser Parser with the query parsed
+     */
+    private StreamingXPath(final StreamingXPath.Parser parser) {
+        this.query = parser.query;
+        this.steps = parser.elements.toArray(new StreamingXPath.Step[0]);
+        this.tail = parser.tail;
+        this.descendants = parser.descendants;
+        this.operator = parser.operator;
+        this.operand = parser.operand;
+    }
+
+    @Override
+    public String toString() {
+        return this.query;
+    }
+
+    /**
+     * Start a new evaluation of the query.
+     * @return Cursor, which has to be fed with parsing events
+     */
+    StreamingXPath.Cursor cursor() {
+        return new StreamingXPath.Cursor(this);
+    }
+
+    /**
+     * Does the number of nodes found satisfy the query?
+     * @param count Number of nodes found
+     * @return TRUE if it does
+     * @checkstyle CyclomaticComplexityCheck (30 lines)
+     */
+    private boolean accepts(final long count) {
+        final boolean accepts;
+        switch (this.operator) {
+            case "=":
+                accepts = count == this.operand;
+                break;
+            case "!=":
+                accepts = count != this.operand;
+                break;
+            case "<":
+                accepts = count < this.operand;
+                break;
+            case "<=":
+                accepts = count <= this.operand;
+                break;
+            case ">=":
+                accepts = count >= this.operand;
+                break;
+            default:
+                accepts = count > this.operand;
+                break;
+        }
+        return accepts;
+    }
+
+    /**
+     * One evaluation of the query, fed with parsing events.
+     *
+     * <p>The cursor keeps only a few bits per open element, so memory
+     * depends on the depth of the document, not on its size. The text
+     * of an element is kept only while a text predicate of the last step
+     * needs it.
+     *
+     * <p>Objects of this class are mutable and not thread-safe.
+     *
+     * @since 2.0
+     */
+    static final class Cursor {
+
+        /**
+         * The query.
+         */
+        private final transient StreamingXPath xpath;
+
+        /**
+         * Steps matched by each open element, as bit masks, where bit K
+         * means that the element is matched by the first K steps.
+         */
+        private transient long[] matched;
+
+        /**
+         * Steps matched by ancestors of each open element.
+         */
+        private transient long[] carry;
+
+        /**
+         * Position in the text buffer where each open element started, if
+         * the element waits for its text predicate, or -1 otherwise.
+         */
+        private transient int[] offsets;
+
+        /**
+         * Has a text() predicate been satisfied by each open element?
+         */
+        private transient boolean[] direct;
+
+        /**
+         * Text of elements waiting for their text predicates.
+         */
+        private final transient StringBuilder buffer;
+
+        /**
+         * Depth of the current element, zero for the document.
+         */
+        private transient int depth;
+
+        /**
+         * How many elements wait for their text predicates.
+         */
+        private transient int pending;
+
+        /**
+         * Number of nodes found so far.
+         */
+        private transient long count;
+
+        /**
+         * Ctor.
+         * @param query The query
+         */
+        Cursor(final StreamingXPath query) {
+            this.xpath = query;
+            final int size = 16;
+            this.matched = new long[size];
+            this.carry = new long[size];
+            this.offsets = new int[size];
+            this.direct = new boolean[size];
+            this.buffer = new StringBuilder(0);
+            this.matched[0] = 1L;
+        }
+
+        /**
+         * Does the document match the query, judging by what was seen?
+         * @return TRUE if it matches
+         */
+        boolean matched() {
+            return this.xpath.accepts(this.count);
+        }
+
+        /**
+         * Is the result already known, no matter what comes next?
+         *
+         * <p>The number of nodes found only grows, so, for example, an
+         * existence query is decided as soon as the first node is found.
+         *
+         * @return TRUE if the rest of the document doesn't matter
+         */
+        boolean decided() {
+            return this.count > this.xpath.operand
+                || this.count == this.xpath.operand
+                && (">=".equals(this.xpath.operator)
+                || "<".equals(this.xpath.operator));
+        }
+
+        /**
+         * An element starts.
+         * @param uri Namespace URI of the element
+         * @param local Local name of the element
+         * @param qname Qualified name of the element
+         * @param attrs Attributes of the element
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        void start(final String uri, final String local, final String qname,
+            final Attributes attrs) {
+            final boolean prefixed = qname.indexOf(':') >= 0;
+            final long parent = this.matched[this.depth];
+            final long around = this.carry[this.depth] | parent;
+            this.grow();
+            this.depth += 1;
+            final StreamingXPath.Step[] steps = this.xpath.steps;
+            final long candidates = parent
+                | (around & this.xpath.descendants);
+            long mine = 0L;
+            for (int idx = 0; idx < steps.length; ++idx) {
+                if ((candidates & (1L << idx)) != 0L
+                    && steps[idx].accepts(uri, local, prefixed, attrs)) {
+                    mine |= 1L << (idx + 1);
+                }
+            }
+            this.matched[this.depth] = mine;
+            this.carry[this.depth] = around;
+            this.offsets[this.depth] = -1;
+            this.direct[this.depth] = false;
+            final long full = 1L << steps.length;
+            final StreamingXPath.Step tail = this.xpath.tail;
+            if (tail == null) {
+                if ((mine & full) != 0L) {
+                    if (steps[steps.length - 1].text == null) {
+                        this.count += 1L;
+                    } else {
+                        this.offsets[this.depth] = this.buffer.length();
+                        this.pending += 1;
+                    }
+                }
+            } else if (tail.attribute && this.selects(full)) {
+                this.count += tail.attributes(attrs);
+            }
+        }
+
+        /**
+         * A text node inside the current element.
+         * @param text The text
+         */
+        void text(final String text) {
+            final StreamingXPath.Step tail = this.xpath.tail;
+            if (this.depth > 0 && tail != null && !tail.attribute
+                && this.selects(1L << this.xpath.steps.length)) {
+                this.count += 1L;
+            }
+            if (this.pending > 0) {
+                this.buffer.append(text);
+                if (this.offsets[this.depth] >= 0) {
+                    final StreamingXPath.Condition cond =
+                        this.xpath.steps[this.xpath.steps.length - 1].text;
+                    if (!cond.self && cond.test(text)) {
+                        this.direct[this.depth] = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * The current element ends.
+         */
+        void end() {
+            final int offset = this.offsets[this.depth];
+            if (offset >= 0) {
+                final StreamingXPath.Condition cond =
+                    this.xpath.steps[this.xpath.steps.length - 1].text;
+                final boolean found;
+                if (cond.self) {
+                    found = cond.test(this.buffer.substring(offset));
+                } else {
+                    found = this.direct[this.depth];
+                }
+                if (found) {
+                    this.count += 1L;
+                }
+                this.pending -= 1;
+                if (this.pending == 0) {
+                    this.buffer.setLength(0);
+                }
+            }
+            this.depth -= 1;
+        }
+
+        /**
+         * Is the current element a context of the final attribute or
+         * text() step?
+         * @param full Bit of all element steps matched
+         * @return TRUE if it is
+         */
+        private boolean selects(final long full) {
+            return (this.matched[this.depth] & full) != 0L
+                || (this.xpath.tail.descendant
+                && (this.carry[this.depth] & full) != 0L);
+        }
+
+        /**
+         * Make room for one more open element.
+         */
+        private void grow() {
+            if (this.depth + 1 == this.matched.length) {
+                final int size = this.matched.length * 2;
+                this.matched = Arrays.copyOf(this.matched, size);
+                this.carry = Arrays.copyOf(this.carry, size);
+                this.offsets = Arrays.copyOf(this.offsets, size);
+                this.direct = Arrays.copyOf(this.direct, size);
+            }
+        }
+    }
+
+    /**
+     * Location step.
+     *
+     * @since 2.0
+     */
+    private static final class Step {
+
+        /**
+         * Is it a descendant axis?
+         */
+        private final transient boolean descendant;
+
+        /**
+         * Is it an attribute step?
+         */
+        private final transient boolean attribute;
+
+        /**
+         * Namespace URI, NULL if any namespace matches, or
+         * {@link StreamingXPath#DEFAULT}.
+         */
+        private final transient String uri;
+
+        /**
+         * Local name, or NULL if any name matches.
+         */
+        private final transient String local;
+
+        /**
+         * Attribute predicates.
+         */
+        private final transient List<StreamingXPath.Condition> attrs;
+
+        /**
+         * Text predicate, or NULL if there is none.
+         */
+        private transient StreamingXPath.Condition text;
+
+        /**
+         * Ctor.
+         * @param desc Is it a descendant axis?
+         * @param attr Is it an attribute step?
+         * @param name Namespace URI and local name
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Step(final boolean desc, final boolean attr, final String... name) {
+            this.descendant = desc;
+            this.attribute = attr;
+            this.uri = name[0];
+            this.local = name[1];
+            this.attrs = new ArrayList<>(0);
+        }
+
+        /**
+         * Does this element match the step?
+         * @param namespace Namespace URI of the element
+         * @param name Local name of the element
+         * @param prefixed Is the name of the element written with a prefix?
+         * @param attributes Attributes of the element
+         * @return TRUE if it matches
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        boolean accepts(final String namespace, final String name,
+            final boolean prefixed, final Attributes attributes) {
+            boolean accepts = this.named(namespace, name, prefixed);
+            for (final StreamingXPath.Condition cond : this.attrs) {
+                if (!accepts) {
+                    break;
+                }
+                accepts = cond.test(attributes);
+            }
+            return accepts;
+        }
+
+        /**
+         * How many attributes match this attribute step?
+         * @param attributes Attributes of the element
+         * @return Number of attributes
+         */
+        long attributes(final Attributes attributes) {
+            long found = 0L;
+            for (int idx = 0; idx < attributes.getLength(); ++idx) {
+                if (!StreamingXPath.declaration(attributes.getQName(idx))
+                    && this.named(
+                        attributes.getURI(idx),
+                        StreamingXPath.local(
+                            attributes.getLocalName(idx),
+                            attributes.getQName(idx)
+                        ),
+                        attributes.getQName(idx).indexOf(':') >= 0
+                    )) {
+                    found += 1L;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Does the name match?
+         * @param namespace Namespace URI
+         * @param name Local name
+         * @param prefixed Is the name written with a prefix?
+         * @return TRUE if it matches
+         */
+        private boolean named(final String namespace, final String name,
+            final boolean prefixed) {
+            final boolean spaced;
+            if (StreamingXPath.DEFAULT.equals(this.uri)) {
+                spaced = !prefixed;
+            } else {
+                spaced = this.uri == null || this.uri.equals(namespace);
+            }
+            return spaced && (this.local == null || this.local.equals(name));
+        }
+    }
+
+    /**
+     * Predicate.
+     *
+     * @since 2.0
+     */
+    private static final class Condition {
+
+        /**
+         * Is it a test of the string value of the element ({@code .})?
+         */
+        private final transient boolean self;
+
+        /**
+         * Attribute step, or NULL for text predicates.
+         */
+        private final transient StreamingXPath.Step attr;
+
+        /**
+         * Is it a negation ({@code !=})?
+         */
+        private final transient boolean negated;
+
+        /**
+         * Is the literal a number?
+         */
+        private final transient boolean numeric;
+
+        /**
+         * The literal to compare with, or NULL to check existence only.
+         */
+        private final transient String literal;
+
+        /**
+         * Ctor.
+         * @param slf Is it a test of the string value?
+         * @param step Attribute step, or NULL for text predicates
+         * @param neg Is it a negation?
+         * @param value The literal, as in the query, or NULL to check
+         *  existence only
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Condition(final boolean slf, final StreamingXPath.Step step,
+            final boolean neg, final String value) {
+            this.self = slf;
+            this.attr = step;
+            this.negated = neg;
+            this.numeric = value != null && StreamingXPath.numeric(value);
+            if (value == null || this.numeric) {
+                this.literal = value;
+            } else {
+                this.literal = value.substring(1, value.length() - 1);
+            }
+        }
+
+        /**
+         * Does any attribute satisfy the predicate?
+         * @param attributes Attributes of the element
+         * @return TRUE if it does
+         */
+        boolean test(final Attributes attributes) {
+            boolean found = false;
+            for (int idx = 0; idx < attributes.getLength() && !found; ++idx) {
+                found = !StreamingXPath.declaration(attributes.getQName(idx))
+                    && this.attr.named(
+                        attributes.getURI(idx),
+                        StreamingXPath.local(
+                            attributes.getLocalName(idx),
+                            attributes.getQName(idx)
+                        ),
+                        attributes.getQName(idx).indexOf(':') >= 0
+                    )
+                    && (this.literal == null
+                    || this.test(attributes.getValue(idx)));
+            }
+            return found;
+        }
+
+        /**
+         * Does the value satisfy the predicate?
+         * @param value The value
+         * @return TRUE if it does
+         */
+        boolean test(final String value) {
+            boolean equal;
+            if (this.numeric) {
+                try {
+                    equal = Double.parseDouble(value.trim())
+                        == Double.parseDouble(this.literal);
+                } catch (final NumberFormatException ex) {
+                    equal = false;
+                }
+            } else {
+                equal = this.literal.equals(value);
+            }
+            return equal ^ this.negated;
+        }
+    }
+
+    /**
+     * Parser of a query.
+     *
+     * @since 2.0
+     * @checkstyle VisibilityModifierCheck (200 lines)
+     */
+    private static final class Parser {
+
+        /**
+         * The query.
+         */
+        private final transient String query;
+
+        /**
+         * Namespace context.
+         */
+        private final transient NamespaceContext context;
+
+        /**
+         * Element steps.
+         */
+        private final transient List<StreamingXPath.Step> elements;
+
+        /**
+         * Final attribute or text() step.
+         */
+        private transient StreamingXPath.Step tail;
+
+        /**
+         * Bit mask of element steps with descendant axis.
+         */
+        private transient long descendants;
+
+        /**
+         * Comparison operator.
+         */
+        private transient String operator;
+
+        /**
+         * The number to compare with.
+         */
+        private transient double operand;
+
+        /**
+         * Does the query use namespace prefixes?
+         */
+        private final transient boolean prefixed;
+
+        /**
+         * Current position.
+         */
+        private transient int pos;
+
+        /**
+         * Ctor.
+         * @param xpath The query
+         * @param ctx Namespace context
+         */
+        Parser(final String xpath, final NamespaceContext ctx) {
+            this.query = xpath;
+            this.context = ctx;
+            this.elements = new ArrayList<>(4);
+            this.prefixed = !new XPathQuery(xpath).prefixes().isEmpty();
+            this.operator = ">";
+            this.parse();
+        }
+
+        /**
+         * Parse the entire query.
+         */
+        private void parse() {
+            this.blank();
+            if (this.query.startsWith("count", this.pos)
+                && this.query.substring(this.pos + "count".length())
+                .trim().startsWith("(")) {
+                this.pos = this.query.indexOf('(', this.pos) + 1;
+                this.path();
+                this.blank();
+                this.expect(')');
+                this.blank();
+                this.operator = "!=";
+                if (this.pos < this.query.length()) {
+                    this.operator = this.comparison();
+                    this.blank();
+                    final String number = this.literal();
+                    if (!StreamingXPath.numeric(number)) {
+                        throw this.unsupported("a number expected");
+                    }
+                    this.operand = Double.parseDouble(number);
+                }
+            } else {
+                this.path();
+            }
+            this.blank();
+            if (this.pos < this.query.length()) {
+                throw this.unsupported("unexpected trailing characters");
+            }
+        }
+
+        /**
+         * Parse a location path.
+         */
+        private void path() {
+            this.blank();
+            if (!this.ahead("/")) {
+                throw this.unsupported("only absolute paths are supported");
+            }
+            while (this.ahead("/")) {
+                if (this.tail != null) {
+                    throw this.unsupported(
+                        "attribute or text() step must be the last one"
+                    );
+                }
+                this.pos += 1;
+                final boolean desc = this.ahead("/");
+                if (desc) {
+                    this.pos += 1;
+                }
+                this.step(desc);
+            }
+            if (this.elements.isEmpty() && this.tail == null) {
+                throw this.unsupported("empty path");
+            }
+            if (this.elements.size() > StreamingXPath.MAX) {
+                throw this.unsupported("too many steps");
+            }
+            for (int idx = 0; idx < this.elements.size(); ++idx) {
+                if (this.elements.get(idx).text != null
+                    && (idx < this.elements.size() - 1 || this.tail != null)) {
+                    throw this.unsupported(
+                        "text predicate is allowed only at the last step"
+                    );
+                }
+            }
+        }
+
+        /**
+         * Parse one location step.
+         * @param desc Is it a descendant axis?
+         */
+        private void step(final boolean desc) {
+            if (this.ahead("@")) {
+                this.pos += 1;
+                this.tail = new StreamingXPath.Step(
+                    desc, true, this.name(false)
+                );
+            } else if (this.ahead("text()")) {
+                this.pos += "text()".length();
+                this.tail = new StreamingXPath.Step(desc, false, null, null);
+            } else {
+                final StreamingXPath.Step step = new StreamingXPath.Step(
+                    desc, false, this.name(true)
+                );
+                if (desc) {
+                    this.descendants |= 1L << this.elements.size();
+                }
+                this.elements.add(step);
+                while (this.ahead("[")) {
+                    this.pos += 1;
+                    this.predicate(step);
+                    this.expect(']');
+                }
+            }
+        }
+
+        /**
+         * Parse a predicate.
+         * @param step The step it belongs to
+         */
+        private void predicate(final StreamingXPath.Step step) {
+            this.blank();
+            if (step.text != null) {
+                throw this.unsupported("only one text predicate is allowed");
+            }
+            if (this.ahead("@")) {
+                this.pos += 1;
+                final StreamingXPath.Step attr = new StreamingXPath.Step(
+                    false, true, this.name(false)
+                );
+                this.blank();
+                if (this.ahead("=") || this.ahead("!=")) {
+                    final boolean neg = "!=".equals(this.comparison());
+                    this.blank();
+                    step.attrs.add(
+                        new StreamingXPath.Condition(
+                            false, attr, neg, this.literal()
+                        )
+                    );
+                } else {
+                    step.attrs.add(
+                        new StreamingXPath.Condition(false, attr, false, null)
+                    );
+                }
+            } else if (this.ahead(".") || this.ahead("text()")) {
+                final boolean slf = this.ahead(".");
+                if (slf) {
+                    this.pos += 1;
+                } else {
+                    this.pos += "text()".length();
+                }
+                this.blank();
+                final String op = this.comparison();
+                if (!"=".equals(op) && !"!=".equals(op)) {
+                    throw this.unsupported("only = and != compare texts");
+                }
+                this.blank();
+                step.text = new StreamingXPath.Condition(
+                    slf, null, "!=".equals(op), this.literal()
+                );
+            } else {
+                throw this.unsupported("unsupported predicate");
+            }
+            this.blank();
+        }
+
+        /**
+         * Parse a name test.
+         * @param element Is it a name of an element?
+         * @return Namespace URI and local name, NULL meaning "any"
+         */
+        private String[] name(final boolean element) {
+            final String first = this.ncname();
+            final String[] name = new String[2];
+            if (this.ahead(":") && !this.ahead("::")) {
+                this.pos += 1;
+                name[0] = this.context.getNamespaceURI(first);
+                if (name[0] == null || name[0].isEmpty()) {
+                    throw this.unsupported(
+                        String.format("prefix '%s' is not bound", first)
+                    );
+                }
+                name[1] = this.ncname();
+            } else {
+                if ("*".equals(first)) {
+                    name[0] = null;
+                } else if (element && !this.prefixed) {
+                    name[0] = StreamingXPath.DEFAULT;
+                } else {
+                    name[0] = "";
+                }
+                name[1] = first;
+            }
+            if ("*".equals(name[1])) {
+                name[1] = null;
+            }
+            if (this.ahead("(") || this.ahead("::")) {
+                throw this.unsupported("only name tests are supported");
+            }
+            return name;
+        }
+
+        /**
+         * Parse an NCName or an asterisk.
+         * @return The name
+         */
+        private String ncname() {
+            final int start = this.pos;
+            if (this.ahead("*")) {
+                this.pos += 1;
+            } else {
+                while (this.pos < this.query.length()) {
+                    final char chr = this.query.charAt(this.pos);
+                    if (Character.isLetterOrDigit(chr) || chr == '_'
+                        || this.pos > start && (chr == '-' || chr == '.')) {
+                        this.pos += 1;
+                    } else {
+                        break;
+                    }
+                }
+            }
+            if (this.pos == start
+                || Character.isDigit(this.query.charAt(start))) {
+                throw this.unsupported("name expected");
+            }
+            return this.query.substring(start, this.pos);
+        }
+
+        /**
+         * Parse a comparison operator.
+         * @return The operator
+         */
+        private String comparison() {
+            String found = null;
+            for (final String opr : StreamingXPath.OPERATORS) {
+                if (this.ahead(opr)) {
+                    found = opr;
+                    break;
+                }
+            }
+            if (found == null) {
+                throw this.unsupported("comparison operator expected");
+            }
+            this.pos += found.length();
+            return found;
+        }
+
+        /**
+         * Parse a string or number literal.
+         * @return The literal, as it is in the query, with quotes
+         */
+        private String literal() {
+            final String literal;
+            if (this.ahead("'") || this.ahead("\"")) {
+                final char quote = this.query.charAt(this.pos);
+                final int end = this.query.indexOf(quote, this.pos + 1);
+                if (end < 0) {
+                    throw this.unsupported("unterminated literal");
+                }
+                literal = this.query.substring(this.pos, end + 1);
+                this.pos = end + 1;
+            } else {
+                final int start = this.pos;
+                while (this.pos < this.query.length()
+                    && "0123456789.-".indexOf(this.query.charAt(this.pos))
+                    >= 0) {
+                    this.pos += 1;
+                }
+                literal = this.query.substring(start, this.pos);
+                if (!StreamingXPath.numeric(literal)) {
+                    throw this.unsupported("literal expected");
+                }
+            }
+            return literal;
+        }
+
+        /**
+         * Skip the expected character.
+         * @param chr The character
+         */
+        private void expect(final char chr) {
+            if (this.pos >= this.query.length()
+                || this.query.charAt(this.pos) != chr) {
+                throw this.unsupported(String.format("'%s' expected", chr));
+            }
+            this.pos += 1;
+        }
+
+        /**
+         * Is this text right ahead?
+         * @param text The text
+         * @return TRUE if it is
+         */
+        private boolean ahead(final String text) {
+            return this.query.startsWith(text, this.pos);
+        }
+
+        /**
+         * Skip white spaces.
+         */
+        private void blank() {
+            while (this.pos < this.query.length()
+                && Character.isWhitespace(this.query.charAt(this.pos))) {
+                this.pos += 1;
+            }
+        }
+
+        /**
+         * Make an exception about an unsupported query.
+         * @param reason Why it is not supported
+         * @return Exception to throw
+         */
+        private IllegalArgumentException unsupported(final String reason) {
+            return new IllegalArgumentException(
+                String.format(
+                    // @checkstyle LineLength (1 line)
+                    "XPath query '%s' can't be evaluated in streaming mode, %s at position %d",
+                    this.query, reason, this.pos
+                )
+            );
+        }
+    }
+
+    /**
+     * Is it a number literal?
+     * @param literal The literal
+     * @return TRUE if it is a number
+     */
+    private static boolean numeric(final String literal) {
+        return literal.matches("-?(\\d+(\\.\\d*)?|\\.\\d+)");
+    }
+
+    /**
+     * Is this attribute a namespace declaration?
+     * @param qname Qualified name of the attribute
+     * @return TRUE if it is
+     */
+    private static boolean declaration(final String qname) {
+        return "xmlns".equals(qname) || qname.startsWith("xmlns:");
+    }
+
+    /**
+     * Local name of a node, even if the parser is not namespace-aware.
+     * @param local Local name, as reported by the parser
+     * @param qname Qualified name
+     * @return Local name
+     */
+    static String local(final String local, final String qname) {
+        final String name;
+        if (local == null || local.isEmpty()) {
+            name = qname.substring(qname.indexOf(':') + 1);
+        } else {
+            name = local;
+        }
+        return name;
+    }
+}
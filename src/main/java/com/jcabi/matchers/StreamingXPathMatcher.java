@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javax.xml.namespace.NamespaceContext;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hamcrest.Description;
+
+/**
+ * Matcher of forward-only XPath queries, evaluated all together while
+ * the document is being parsed, without building a DOM.
+ *
+ * <p>Memory consumption doesn't depend on the size of the document, see
+ * {@link StreamingXPath} for the subset of XPath supported. Parsing stops
+ * as soon as the result of every query is known, for example, when all
+ * existence queries have found their nodes. Time and I/O depend on where
+ * the nodes are in the document, not on its size. The mismatch lists
+ * the queries, which didn't match, as found out while matching, without
+ * reading the document again.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @param <T> Type of param
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(callSuper = false, of = "xpaths")
+final class StreamingXPathMatcher<T>
+    extends MemoizingMatcher<T, List<StreamingXPath>> {
+
+    /**
+     * The queries.
+     */
+    private final transient Collection<StreamingXPath> xpaths;
+
+    /**
+     * Ctor.
+     * @param queries The queries
+     * @param ctx The context
+     */
+    StreamingXPathMatcher(final Iterable<String> queries,
+        final NamespaceContext ctx) {
+        super();
+        this.xpaths = new ArrayList<>(1);
+        for (final String query : queries) {
+            this.xpaths.add(new StreamingXPath(query, ctx));
+        }
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        description.appendText("an XML document with streaming XPath");
+        String delimiter = " ";
+        for (final StreamingXPath xpath : this.xpaths) {
+            description.appendText(delimiter).appendText(xpath.toString());
+            delimiter = ", ";
+        }
+    }
+
+    @Override
+    protected List<StreamingXPath> evaluate(final T input) {
+        final List<StreamingXPath.Cursor> cursors =
+            new ArrayList<>(this.xpaths.size());
+        for (final StreamingXPath xpath : this.xpaths) {
+            cursors.add(xpath.cursor());
+        }
+        new StreamingHandler(cursors).read(input);
+        final List<StreamingXPath> failed = new ArrayList<>(0);
+        int idx = 0;
+        for (final StreamingXPath xpath : this.xpaths) {
+            if (!cursors.get(idx).matched()) {
+                failed.add(xpath);
+            }
+            ++idx;
+        }
+        return failed;
+    }
+
+    @Override
+    protected boolean accepts(final List<StreamingXPath> failed) {
+        return failed.isEmpty();
+    }
+
+    @Override
+    protected void explain(final List<StreamingXPath> failed,
+        final Description description) {
+        description.appendText("didn't match streaming XPath");
+        String delimiter = " ";
+        for (final StreamingXPath xpath : failed) {
+            description.appendText(delimiter).appendText(xpath.toString());
+            delimiter = ", ";
+        }
+    }
+}
@@ -4,94 +4,304 @@
  */
 package com.jcabi.matchers;
 
-import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
-import java.util.Locale;
 import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
 import lombok.EqualsAndHashCode;
 import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * Private class for DOM to String converting.
  *
+ * <p>When constructed from text or from an input, like a stream, the DOM
+ * is not built until it is requested through {@link #getNode()} for the
+ * first time. It is parsed straight from the text or the input and owned
+ * by this source, no defensive copy is made. Sequential consumers read
+ * the text or the input through {@link #stream()}, without the DOM.
+ * An input is read through {@link InputTape}, so it may be read by any
+ * number of consumers, and parsed after that. The text is not serialized
+ * from the DOM until it is needed, for example, by {@link #toString()}.
+ *
  * <p>Objects of this class are immutable and thread-safe.
  *
  * @since 0.1
  */
-@EqualsAndHashCode(callSuper = false, of = "xml")
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
 final class StringSource extends DOMSource {
 
     /**
-     * The XML itself.
+     * Upper-case hex digits.
+     */
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * The XML itself, or NULL if it is not serialized yet.
+     */
+    private transient String xml;
+
+    /**
+     * The input to read, or NULL if there was no input.
+     */
+    private final transient InputTape input;
+
+    /**
+     * Is the DOM parsed by this source and owned by it?
      */
-    private final transient String xml;
+    private final transient boolean own;
+
+    /**
+     * Indent the text, when it's serialized from the DOM?
+     */
+    private final transient boolean indent;
 
     /**
      * Public ctor.
      * @param node The node
-     * @checkstyle ConstructorsCodeFreeCheck (4 lines)
      */
     StringSource(final Node node) {
-        this(node, StringSource.serialize(node));
+        this(node, null, null, false, true);
     }
 
     /**
-     * Public ctor.
+     * Public ctor, which doesn't read the input until it is needed. Then
+     * its encoding is detected from the byte order mark or the XML
+     * declaration, if the input is a byte stream.
+     * @param src The input to parse
+     */
+    StringSource(final InputSource src) {
+        this(null, null, src, true, false);
+    }
+
+    /**
+     * Public ctor, which doesn't parse the text. If the text is not
+     * a valid XML document, {@link IllegalArgumentException} is thrown
+     * when the DOM is needed, by {@link #getNode()} or any method, which
+     * uses it.
      * @param text The content of the document
-     * @checkstyle ConstructorsCodeFreeCheck (4 lines)
      */
     StringSource(final String text) {
-        this(new XMLDocument(text).deepCopy(), text);
+        this(null, text, null, true, false);
     }
 
     /**
      * Private primary ctor.
-     * @param node The node
-     * @param text The XML text
+     * @param node The node, or NULL if it has to be parsed
+     * @param text The XML text, or NULL if it has to be serialized
+     * @param src The input to parse, or NULL if the text is parsed
+     * @param parsed Is the DOM parsed by this source?
+     * @param pretty Indent the text serialized from the DOM?
+     * @checkstyle ParameterNumberCheck (3 lines)
      */
-    private StringSource(final Node node, final String text) {
+    private StringSource(final Node node, final String text,
+        final InputSource src, final boolean parsed, final boolean pretty) {
         super(node);
         this.xml = text;
+        if (src == null) {
+            this.input = null;
+        } else {
+            this.input = new InputTape(src);
+        }
+        this.own = parsed;
+        this.indent = pretty;
+    }
+
+    /**
+     * Source of a DOM, which was built for it and is not referenced by
+     * anyone else, like a result of a transformation. It is owned by the
+     * source, no defensive copy is made. The text is serialized from
+     * the DOM only when it is needed, with indentation.
+     * @param node The node
+     * @return Source
+     */
+    static StringSource owning(final Node node) {
+        return StringSource.owning(node, true);
+    }
+
+    /**
+     * Source of a DOM, which was built for it and is not referenced by
+     * anyone else, with the text serialized from it as compact or
+     * indented.
+     * @param node The node
+     * @param pretty Indent the text?
+     * @return Source
+     */
+    static StringSource owning(final Node node, final boolean pretty) {
+        return new StringSource(node, null, null, true, pretty);
+    }
+
+    @Override
+    public synchronized Node getNode() {
+        Node node = super.getNode();
+        if (node == null) {
+            if (this.xml != null) {
+                node = StringSource.parse(
+                    new InputSource(new StringReader(this.xml))
+                );
+            } else {
+                node = StringSource.parse(this.input.replay());
+            }
+            super.setNode(node);
+        }
+        return node;
+    }
+
+    @Override
+    public synchronized void setNode(final Node node) {
+        super.setNode(node);
     }
 
     @Override
     public String toString() {
-        final StringBuilder buf = new StringBuilder();
-        final int length = this.xml.length();
+        final String xml = this.text();
+        final int length = xml.length();
+        int wide = 0;
         for (int pos = 0; pos < length; ++pos) {
-            final char chr = this.xml.charAt(pos);
             // @checkstyle MagicNumber (1 line)
-            if (chr > 0x7f) {
-                buf.append("&#").append(
-                    Integer.toHexString(chr).toUpperCase(Locale.ENGLISH)
-                ).append(';');
-            } else {
-                buf.append(chr);
+            if (xml.charAt(pos) > 0x7f) {
+                ++wide;
+            }
+        }
+        final String text;
+        if (wide == 0) {
+            text = xml;
+        } else {
+            // @checkstyle MagicNumber (1 line)
+            final StringBuilder buf = new StringBuilder(length + wide * 6);
+            for (int pos = 0; pos < length; ++pos) {
+                final char chr = xml.charAt(pos);
+                // @checkstyle MagicNumber (1 line)
+                if (chr > 0x7f) {
+                    StringSource.escape(buf, chr);
+                } else {
+                    buf.append(chr);
+                }
             }
+            text = buf.toString();
+        }
+        return text;
+    }
+
+    /**
+     * The XML text, as it was given or serialized from the DOM, without
+     * any escaping.
+     * @return XML text
+     */
+    @EqualsAndHashCode.Include
+    synchronized String text() {
+        if (this.xml == null) {
+            this.xml = StringSource.serialize(this.getNode(), this.indent);
+        }
+        return this.xml;
+    }
+
+    /**
+     * DOM document, ready for read-only XPath evaluation. When the source
+     * was built from text or a stream, it is its own document, parsed only
+     * once; otherwise it is a copy of the node the source was built from.
+     * @return DOM node
+     */
+    Node document() {
+        final Node node;
+        if (this.own) {
+            node = this.getNode();
+        } else {
+            node = XmlPool.dom(this);
+        }
+        return node;
+    }
+
+    /**
+     * Source for consumers, which read the document sequentially: the
+     * text itself or the input, unless the DOM is already there.
+     * @return Source of the document
+     */
+    synchronized Source stream() {
+        Source source = this;
+        if (super.getNode() == null && this.xml != null) {
+            source = new StreamSource(new StringReader(this.xml));
+        } else if (super.getNode() == null && this.input != null) {
+            final InputSource tape = this.input.replay();
+            final StreamSource src = new StreamSource(tape.getSystemId());
+            src.setInputStream(tape.getByteStream());
+            src.setReader(tape.getCharacterStream());
+            source = src;
+        }
+        return source;
+    }
+
+    /**
+     * Append a char as a numeric character reference, with upper-case
+     * hex digits and without leading zeros, like {@code &#443;}.
+     * @param buf The buffer to append to
+     * @param chr The char to escape
+     */
+    private static void escape(final StringBuilder buf, final char chr) {
+        buf.append("&#");
+        // @checkstyle MagicNumber (1 line)
+        int shift = 12;
+        while ((chr >> shift) == 0) {
+            // @checkstyle MagicNumber (1 line)
+            shift -= 4;
+        }
+        while (shift >= 0) {
+            // @checkstyle MagicNumber (1 line)
+            buf.append(StringSource.HEX[chr >> shift & 0xf]);
+            // @checkstyle MagicNumber (1 line)
+            shift -= 4;
         }
-        return buf.toString();
+        buf.append(';');
+    }
+
+    /**
+     * Parse the input into a DOM document.
+     * @param input The input to parse
+     * @return DOM document
+     */
+    private static Node parse(final InputSource input) {
+        final Node doc;
+        try {
+            doc = XmlPool.builder().parse(input);
+        } catch (final SAXException ex) {
+            throw new IllegalArgumentException(
+                "Can't parse, most probably the XML is invalid", ex
+            );
+        } catch (final IOException ex) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Can't read XML document from %s", input.getSystemId()
+                ),
+                ex
+            );
+        }
+        return doc;
     }
 
     /**
      * Serialize a DOM node to XML string.
      * @param node The node to serialize
+     * @param indent Indent the output?
      * @return XML representation
      */
-    private static String serialize(final Node node) {
+    private static String serialize(final Node node, final boolean indent) {
         final StringWriter writer = new StringWriter();
         try {
-            final Transformer transformer =
-                TransformerFactory.newInstance().newTransformer();
+            final Transformer transformer = XmlPool.transformer();
             final String yes = "yes";
             transformer.setOutputProperty(
                 OutputKeys.OMIT_XML_DECLARATION, yes
             );
-            transformer.setOutputProperty(OutputKeys.INDENT, yes);
+            if (indent) {
+                transformer.setOutputProperty(OutputKeys.INDENT, yes);
+            }
             transformer.transform(
                 new DOMSource(node),
                 new StreamResult(writer)
@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.net.URL;
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+
+/**
+ * Cache of compiled XSL stylesheets, shared by all threads.
+ *
+ * <p>Stylesheets are compiled only once per JVM, see {@link ContentCache},
+ * into {@link Templates}, which are thread-safe. No more than {@link #MAX}
+ * of them are kept.
+ *
+ * @since 2.0
+ */
+final class Stylesheets {
+
+    /**
+     * Maximum number of stylesheets to keep.
+     */
+    static final int MAX = 64;
+
+    /**
+     * Compiled stylesheets.
+     */
+    private static final ContentCache<Templates> CACHE =
+        new ContentCache<>(Stylesheets.MAX, Stylesheets::compile);
+
+    /**
+     * Utility class.
+     */
+    private Stylesheets() {
+        // intentionally empty
+    }
+
+    /**
+     * Compiled stylesheet, loaded from the URL. Its relative imports and
+     * includes are resolved against the URL.
+     * @param url Location of the stylesheet
+     * @return Templates
+     */
+    static Templates templates(final URL url) {
+        return Stylesheets.CACHE.get(url);
+    }
+
+    /**
+     * Compiled stylesheet, given as a text.
+     * @param xsl Text of the stylesheet
+     * @return Templates
+     */
+    static Templates templates(final String xsl) {
+        return Stylesheets.CACHE.get(xsl);
+    }
+
+    /**
+     * Compile the stylesheet.
+     * @param source Source of it
+     * @return Templates
+     */
+    private static Templates compile(final Source source) {
+        try {
+            return TransformerFactory.newInstance().newTemplates(source);
+        } catch (final TransformerConfigurationException ex) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Can't compile XSL stylesheet %s", source.getSystemId()
+                ),
+                ex
+            );
+        }
+    }
+}
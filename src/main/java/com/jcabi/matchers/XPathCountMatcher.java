@@ -0,0 +1,89 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+/**
+ * Matcher of the number of nodes, which XPath query selects in XML.
+ *
+ * <p>The nodes are counted by the {@link XPathEngine}, without collecting
+ * them. The number of the last failed evaluation is memorized, see
+ * {@link MemoizingMatcher}.
+ *
+ * <p>Objects of this class are immutable and thread-safe, as long as
+ * the nested matcher is.
+ *
+ * @param <T> Type of param
+ * @since 2.0
+ */
+@ToString(of = { "xpath", "matcher" })
+@EqualsAndHashCode(callSuper = false, of = { "xpath", "matcher" })
+final class XPathCountMatcher<T> extends MemoizingMatcher<T, Integer> {
+
+    /**
+     * The query.
+     */
+    private final transient XPathMatcher<T> xpath;
+
+    /**
+     * Matcher of the number.
+     */
+    private final transient Matcher<? super Integer> matcher;
+
+    /**
+     * Ctor.
+     * @param query The query
+     * @param count Matcher of the number of nodes
+     */
+    XPathCountMatcher(final XPathMatcher<T> query,
+        final Matcher<? super Integer> count) {
+        super();
+        this.xpath = query;
+        this.matcher = count;
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        this.xpath.describeTo(description);
+        description.appendText(" and number of nodes ")
+            .appendDescriptionOf(this.matcher);
+    }
+
+    @Override
+    protected Integer evaluate(final T item) {
+        return this.count(item);
+    }
+
+    @Override
+    protected boolean accepts(final Integer count) {
+        return this.matcher.matches(count);
+    }
+
+    @Override
+    protected void explain(final Integer count,
+        final Description description) {
+        description.appendText("number of nodes ");
+        this.matcher.describeMismatch(count, description);
+    }
+
+    /**
+     * Evaluate the query against the input.
+     * @param input The input
+     * @return Number of nodes it selects
+     */
+    private int count(final T input) {
+        final XmlInput xml;
+        if (input instanceof XmlInput) {
+            xml = (XmlInput) input;
+        } else {
+            xml = new XmlInput(input);
+        }
+        return this.xpath.count(xml);
+    }
+}
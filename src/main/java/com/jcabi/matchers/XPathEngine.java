@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.List;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.transform.Source;
+
+/**
+ * Engine, which evaluates XPath queries for {@link XPathMatcher}.
+ *
+ * <p>Two engines are available out of the box: {@link JdkXPathEngine},
+ * which is used by default, and {@link SaxonXPathEngine}, which needs
+ * Saxon-HE in classpath. The default engine can be changed with the
+ * {@code com.jcabi.matchers.XPathEngine} system property, which may be
+ * set to {@code jdk}, {@code saxon} or a name of a class, which implements
+ * this interface and has a public no-argument constructor; only one engine
+ * of each kind is made for all matchers then. An engine can
+ * also be given to a matcher explicitly, for example:
+ *
+ * <pre> MatcherAssert.assertThat(
+ *   "&lt;a&gt;&lt;b&gt;1&lt;/b&gt;&lt;b&gt;2&lt;/b&gt;&lt;/a&gt;",
+ *   XhtmlMatchers.hasXPath(
+ *     "/a[sum(b) = 3 and (every $b in b satisfies $b &gt; 0)]",
+ *     new SaxonXPathEngine()
+ *   )
+ * );</pre>
+ *
+ * <p>Implementations must be immutable and thread-safe, as well as the
+ * queries they compile. They should implement {@code equals()}, since
+ * a document is built only once per equal engines, when many queries
+ * are matched against it, like in {@link XhtmlMatchers#hasXPaths(String...)}.
+ *
+ * @param <D> Type of documents the engine works with
+ * @since 2.0
+ */
+public interface XPathEngine<D> {
+
+    /**
+     * Build a document, which queries of this engine can be evaluated
+     * against, many times.
+     * @param source The source of XML
+     * @return Document
+     */
+    D document(Source source);
+
+    /**
+     * Compile a query.
+     *
+     * <p>When the query uses no namespace prefixes, its unprefixed element
+     * names must match elements written without prefixes, in any default
+     * namespace or in none (see issue #34), so that {@code //svg/rect}
+     * finds an inline SVG in XHTML. Elements written with prefixes don't
+     * match them. Wildcards match elements in any namespace. When the
+     * query uses prefixes, its unprefixed element names are in no
+     * namespace.
+     *
+     * @param query The query
+     * @param context Namespace context of the query
+     * @return Compiled query
+     * @throws IllegalArgumentException If the query is not valid
+     */
+    XPathEngine.Query<D> compile(String query, NamespaceContext context);
+
+    /**
+     * Compiled query.
+     *
+     * @param <D> Type of documents the query is evaluated against
+     * @since 2.0
+     */
+    interface Query<D> {
+
+        /**
+         * Does the query select anything in the document?
+         * @param document The document
+         * @return TRUE if it does
+         */
+        boolean matches(D document);
+
+        /**
+         * String values of what the query selects in the document, in
+         * document order: one value per selected node, or the only value
+         * of a query, which selects no nodes, like {@code count(//p)}.
+         * @param document The document
+         * @return Values, empty if nothing is selected
+         */
+        List<String> values(D document);
+
+        /**
+         * How many nodes the query selects in the document, counted
+         * without collecting them.
+         * @param document The document
+         * @return Number of nodes
+         */
+        int count(D document);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default {@link XPathEngine}, chosen by a system property.
+ *
+ * <p>Only one engine of each kind is made and returned every time, so
+ * that all matchers use equal engines and a document is built only once
+ * for all of them, see {@link XmlInput}.
+ *
+ * @since 2.0
+ */
+final class XPathEngines {
+
+    /**
+     * System property with the name of the default engine.
+     */
+    static final String PROPERTY = "com.jcabi.matchers.XPathEngine";
+
+    /**
+     * The JDK engine.
+     */
+    private static final XPathEngine<?> JDK = new JdkXPathEngine();
+
+    /**
+     * Custom engines, by names of their classes.
+     */
+    private static final Map<String, XPathEngine<?>> CUSTOM =
+        new ConcurrentHashMap<>(0);
+
+    /**
+     * Utility class.
+     */
+    private XPathEngines() {
+        // intentionally empty
+    }
+
+    /**
+     * The engine, configured by the system property, which is read
+     * every time, or JDK engine, if the property is not set.
+     * @return Engine
+     */
+    static XPathEngine<?> current() {
+        final String name = System.getProperty(XPathEngines.PROPERTY, "jdk");
+        final XPathEngine<?> engine;
+        if ("jdk".equals(name)) {
+            engine = XPathEngines.JDK;
+        } else if ("saxon".equals(name)) {
+            engine = XPathEngines.Saxon.ENGINE;
+        } else {
+            engine = XPathEngines.CUSTOM.computeIfAbsent(
+                name, XPathEngines::custom
+            );
+        }
+        return engine;
+    }
+
+    /**
+     * Make an engine of the class.
+     * @param name Name of the class
+     * @return Engine
+     */
+    private static XPathEngine<?> custom(final String name) {
+        try {
+            return (XPathEngine<?>) Class.forName(name)
+                .getDeclaredConstructor().newInstance();
+        } catch (final ClassNotFoundException | NoSuchMethodException
+            | InstantiationException | IllegalAccessException
+            | InvocationTargetException | ClassCastException ex) {
+            throw new IllegalStateException(
+                String.format(
+                    "Can't make XPath engine '%s' set by '%s' property",
+                    name, XPathEngines.PROPERTY
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Holder of the Saxon engine, which is loaded only when it's needed,
+     * since Saxon-HE is an optional dependency.
+     *
+     * @since 2.0
+     */
+    private static final class Saxon {
+
+        /**
+         * The engine.
+         */
+        private static final XPathEngine<?> ENGINE = new SaxonXPathEngine();
+
+        /**
+         * Utility class.
+         */
+        private Saxon() {
+            // intentionally empty
+        }
+    }
+}
@@ -4,58 +4,49 @@
  */
 package com.jcabi.matchers;
 
-import com.jcabi.xml.XMLDocument;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
-import java.util.regex.Pattern;
+import com.jcabi.xml.XPathContext;
+import java.util.List;
 import javax.xml.namespace.NamespaceContext;
-import javax.xml.transform.Source;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeMatcher;
-import org.w3c.dom.Node;
 
 /**
  * Matcher of XPath against a plain string.
  *
- * <p>Objects of this class are immutable and thread-safe.
+ * <p>Objects of this class are immutable and thread-safe. The query is
+ * compiled only once, no matter how many documents the matcher
+ * is applied to. It is evaluated by an {@link XPathEngine}, which is
+ * either given explicitly or chosen by the system property, as explained
+ * in {@link XPathEngine}.
  *
  * @param <T> Type of param
  * @since 0.3.7
  */
-@ToString
-@EqualsAndHashCode(callSuper = false, of = "xpath")
+@ToString(of = { "xpath", "context" })
+@EqualsAndHashCode(callSuper = false, of = { "xpath", "engine" })
 public final class XPathMatcher<T> extends TypeSafeMatcher<T> {
 
     /**
-     * Default-namespace declaration ({@code xmlns="..."}) pattern, but not
-     * a prefixed declaration like {@code xmlns:foo="..."}.
+     * The XPath to use.
      */
-    private static final Pattern DEFAULT_NS = Pattern.compile(
-        "\\s+xmlns\\s*=\\s*(\"[^\"]*\"|'[^']*')"
-    );
+    private final transient String xpath;
 
     /**
-     * Detects a prefixed name in an XPath query (e.g. {@code ns1:foo}),
-     * while ignoring the {@code ::} XPath axis separator.
+     * The context to use.
      */
-    private static final Pattern PREFIXED = Pattern.compile(
-        "[A-Za-z_][A-Za-z0-9_.-]*:[A-Za-z_]"
-    );
+    private final transient NamespaceContext context;
 
     /**
-     * The XPath to use.
+     * The engine to use.
      */
-    private final transient String xpath;
+    private final transient XPathEngine<Object> engine;
 
     /**
-     * The context to use.
+     * Compiled query, or NULL if it's not compiled yet.
      */
-    private final transient NamespaceContext context;
+    private transient volatile XPathEngine.Query<Object> compiled;
 
     /**
      * Public ctor.
@@ -63,17 +54,34 @@ public final class XPathMatcher<T> extends TypeSafeMatcher<T> {
      * @param ctx The context
      */
     public XPathMatcher(final String query, final NamespaceContext ctx) {
+        this(query, ctx, XPathEngines.current());
+    }
+
+    /**
+     * Public ctor.
+     * @param query The query
+     * @param ctx The context
+     * @param eng The engine
+     * @since 2.0
+     */
+    @SuppressWarnings("unchecked")
+    public XPathMatcher(final String query, final NamespaceContext ctx,
+        final XPathEngine<?> eng) {
         super();
         this.xpath = query;
         this.context = ctx;
+        this.engine = (XPathEngine<Object>) eng;
     }
 
     @Override
     public boolean matchesSafely(final T input) {
-        return !new XMLDocument(this.source(input))
-            .merge(this.context)
-            .nodes(this.xpath)
-            .isEmpty();
+        final XmlInput xml;
+        if (input instanceof XmlInput) {
+            xml = (XmlInput) input;
+        } else {
+            xml = new XmlInput(input);
+        }
+        return this.evaluate(xml);
     }
 
     @Override
@@ -82,68 +90,78 @@ public final class XPathMatcher<T> extends TypeSafeMatcher<T> {
             .appendText(this.xpath);
     }
 
+    @Override
+    public void describeMismatchSafely(final T item,
+        final Description description) {
+        Object value = item;
+        if (item instanceof XmlInput) {
+            value = ((XmlInput) item).origin();
+        }
+        description.appendText("was ").appendValue(value);
+    }
+
     /**
-     * Build the XML source for the input. When the XPath uses no namespace
-     * prefix, default-namespace declarations ({@code xmlns="..."}) are
-     * stripped from text-based inputs so that elements declared in a
-     * default namespace can be matched without requiring a prefix
-     * (see issue #34). Prefixed XPath queries and {@link Source}/{@link Node}
-     * inputs are passed through unchanged.
-     * @param input The input value
-     * @return XML source ready for XPath evaluation
+     * The query.
+     * @return Query, as it was given
      */
-    private Source source(final T input) {
-        final Source result;
-        if (XPathMatcher.PREFIXED.matcher(this.xpath).find()
-            || input instanceof Source
-            || input instanceof Node) {
-            result = XhtmlMatchers.xhtml(input);
-        } else {
-            result = new StringSource(
-                XPathMatcher.DEFAULT_NS.matcher(XPathMatcher.asText(input))
-                    .replaceAll("")
-            );
-        }
-        return result;
+    String xpath() {
+        return this.xpath;
     }
 
     /**
-     * Read the input as text, mirroring {@link XhtmlMatchers#xhtml(Object)}
-     * for non-{@link Source}/{@link Node} inputs.
-     * @param input The input value
-     * @return Text representation of the input
+     * Compile the query right now, to make sure it's valid.
      */
-    private static String asText(final Object input) {
-        final String text;
-        if (input instanceof InputStream) {
-            text = XPathMatcher.read(
-                new InputStreamReader(
-                    (InputStream) input,
-                    StandardCharsets.UTF_8
-                )
-            );
-        } else if (input instanceof Reader) {
-            text = XPathMatcher.read((Reader) input);
-        } else {
-            text = input.toString();
-        }
-        return text;
+    void compile() {
+        this.query();
+    }
+
+    /**
+     * Evaluate the query against the input, which may be shared with other
+     * matchers.
+     * @param xml The input
+     * @return TRUE if the query matches
+     */
+    boolean evaluate(final XmlInput xml) {
+        return this.query().matches(xml.document(this.engine));
+    }
+
+    /**
+     * Evaluate the query against the input and take string values of
+     * what it selects.
+     * @param xml The input
+     * @return Values
+     */
+    List<String> values(final XmlInput xml) {
+        return this.query().values(xml.document(this.engine));
+    }
+
+    /**
+     * Evaluate the query against the input and count nodes it selects.
+     * @param xml The input
+     * @return Number of nodes
+     */
+    int count(final XmlInput xml) {
+        return this.query().count(xml.document(this.engine));
     }
 
     /**
-     * Read the entire content of a {@link Reader} as a string.
-     * @param reader The reader to read
-     * @return Reader content
+     * Compile the query, only once, with default namespaces of
+     * {@link XPathContext} and the ones provided.
+     * @return Compiled query
      */
-    private static String read(final Reader reader) {
-        final String result;
-        try (Scanner scanner = new Scanner(reader).useDelimiter("\\A")) {
-            if (scanner.hasNext()) {
-                result = scanner.next();
-            } else {
-                result = "";
+    private XPathEngine.Query<Object> query() {
+        XPathEngine.Query<Object> query = this.compiled;
+        if (query == null) {
+            synchronized (this) {
+                query = this.compiled;
+                if (query == null) {
+                    query = this.engine.compile(
+                        this.xpath, new XPathContext().merge(this.context)
+                    );
+                    this.compiled = query;
+                }
             }
         }
-        return result;
+        return query;
     }
 }
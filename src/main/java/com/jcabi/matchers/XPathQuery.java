@@ -0,0 +1,324 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+
+/**
+ * XPath 1.0 query, split into tokens, which knows what namespace prefixes
+ * it uses and how to match elements in a default namespace without them.
+ *
+ * <p>An unprefixed name test in XPath 1.0 matches only elements in no
+ * namespace, so {@code /html/body} doesn't match an XHTML document, where
+ * all elements are in the {@code http://www.w3.org/1999/xhtml} default
+ * namespace (see issue #34). {@link #qualified(String)} adds a prefix to
+ * every unprefixed element name test, like {@code body}, so that it can
+ * be bound to the default namespace of the document, when all unprefixed
+ * elements are in it. {@link #agnostic()} rewrites every such test into
+ * {@code *[name()='body']}, which matches an element with this name and
+ * without a prefix, no matter what default namespace is declared for it,
+ * which works for any document, but calls {@code name()} for every
+ * element. The document stays intact. Attribute names, function names,
+ * axis names, variables, operators and string literals are never
+ * touched.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@EqualsAndHashCode(of = "query")
+final class XPathQuery {
+
+    /**
+     * Operators, after which a name is a name test and {@code *} is
+     * a wildcard, not an operator.
+     */
+    private static final Collection<String> OPERATORS = new HashSet<>(
+        Arrays.asList(
+            "and", "or", "mod", "div", "/", "//", "|", "+", "-",
+            "=", "!=", "<", "<=", ">", ">=", "*", "@", "::", "(", "[", ",",
+            "$"
+        )
+    );
+
+    /**
+     * Tokens, which have two chars.
+     */
+    private static final Collection<String> PAIRS = new HashSet<>(
+        Arrays.asList("::", "//", "..", "!=", "<=", ">=")
+    );
+
+    /**
+     * The query.
+     */
+    private final transient String query;
+
+    /**
+     * Tokens of the query.
+     */
+    private final transient List<XPathQuery.Token> tokens;
+
+    /**
+     * Ctor.
+     * @param xpath The query
+     * @checkstyle ConstructorsCodeFreeCheck (4 lines)
+     */
+    XPathQuery(final String xpath) {
+        this.query = xpath;
+        this.tokens = XPathQuery.tokenize(xpath);
+    }
+
+    @Override
+    public String toString() {
+        return this.query;
+    }
+
+    /**
+     * Namespace prefixes used in the query, in order of appearance.
+     * @return Prefixes
+     */
+    Set<String> prefixes() {
+        final Set<String> prefixes = new LinkedHashSet<>(0);
+        for (final XPathQuery.Token token : this.tokens) {
+            if (token.prefix != null) {
+                prefixes.add(token.prefix);
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * The query, where every unprefixed element name test has the prefix,
+     * for example {@code /html/body} becomes {@code /p:html/p:body}.
+     * Wildcards stay as they are, since they match any namespace.
+     * @param prefix The prefix to add
+     * @return XPath query
+     */
+    String qualified(final String prefix) {
+        return this.rewrite(name -> String.format("%s:%s", prefix, name));
+    }
+
+    /**
+     * The query, where every unprefixed element name test matches
+     * an element with such a name and without a prefix, either in no
+     * namespace or in a default one, for example {@code /html/body}
+     * becomes {@code /*[name()='html']/*[name()='body']}.
+     * @return XPath query
+     */
+    String agnostic() {
+        return this.rewrite(name -> String.format("*[name()='%s']", name));
+    }
+
+    /**
+     * The query, where every unprefixed element name test is replaced.
+     * @param test Replacement of the name test, by the name
+     * @return XPath query
+     */
+    private String rewrite(final Function<String, String> test) {
+        final StringBuilder out = new StringBuilder(this.query.length() * 2);
+        int done = 0;
+        String axis = "";
+        String prev = "";
+        boolean operand = false;
+        for (int idx = 0; idx < this.tokens.size(); ++idx) {
+            final XPathQuery.Token token = this.tokens.get(idx);
+            String next = "";
+            if (idx + 1 < this.tokens.size()) {
+                next = this.tokens.get(idx + 1).text;
+            }
+            if (token.kind == XPathQuery.Kind.NAME) {
+                if ("$".equals(prev)) {
+                    operand = true;
+                } else if (operand || "(".equals(next)) {
+                    operand = false;
+                } else if ("::".equals(next)) {
+                    axis = token.text;
+                } else {
+                    if (token.prefix == null && !"@".equals(prev)
+                        && !"attribute".equals(axis)
+                        && !"namespace".equals(axis)) {
+                        out.append(this.query, done, token.start)
+                            .append(test.apply(token.text));
+                        done = token.start + token.text.length();
+                    }
+                    axis = "";
+                    operand = true;
+                }
+            } else if (token.kind == XPathQuery.Kind.SYMBOL) {
+                if ("*".equals(token.text) && !operand) {
+                    axis = "";
+                    operand = true;
+                } else {
+                    operand = !XPathQuery.OPERATORS.contains(token.text);
+                }
+            } else {
+                operand = true;
+            }
+            prev = token.text;
+        }
+        return out.append(this.query, done, this.query.length()).toString();
+    }
+
+    /**
+     * Split the query into tokens.
+     * @param xpath The query
+     * @return Tokens
+     * @checkstyle CyclomaticComplexityCheck (50 lines)
+     */
+    private static List<XPathQuery.Token> tokenize(final String xpath) {
+        final List<XPathQuery.Token> tokens = new ArrayList<>(0);
+        final int len = xpath.length();
+        int pos = 0;
+        while (pos < len) {
+            final char chr = xpath.charAt(pos);
+            final int start = pos;
+            if (Character.isWhitespace(chr)) {
+                ++pos;
+                continue;
+            }
+            XPathQuery.Kind kind = XPathQuery.Kind.SYMBOL;
+            String prefix = null;
+            if (chr == '\'' || chr == '"') {
+                pos = xpath.indexOf(chr, pos + 1) + 1;
+                if (pos == 0) {
+                    pos = len;
+                }
+                kind = XPathQuery.Kind.VALUE;
+            } else if (Character.isDigit(chr) || chr == '.' && pos + 1 < len
+                && Character.isDigit(xpath.charAt(pos + 1))) {
+                while (pos < len && (Character.isDigit(xpath.charAt(pos))
+                    || xpath.charAt(pos) == '.')) {
+                    ++pos;
+                }
+                kind = XPathQuery.Kind.VALUE;
+            } else if (XPathQuery.starts(chr)) {
+                pos = XPathQuery.name(xpath, pos);
+                if (pos + 1 < len && xpath.charAt(pos) == ':'
+                    && (XPathQuery.starts(xpath.charAt(pos + 1))
+                    || xpath.charAt(pos + 1) == '*')) {
+                    prefix = xpath.substring(start, pos);
+                    if (xpath.charAt(pos + 1) == '*') {
+                        pos += 2;
+                    } else {
+                        pos = XPathQuery.name(xpath, pos + 1);
+                    }
+                }
+                kind = XPathQuery.Kind.NAME;
+            } else if (pos + 1 < len && XPathQuery.PAIRS.contains(
+                xpath.substring(pos, pos + 2)
+            )) {
+                pos += 2;
+            } else {
+                ++pos;
+            }
+            tokens.add(
+                new XPathQuery.Token(
+                    kind, xpath.substring(start, pos), prefix, start
+                )
+            );
+        }
+        return tokens;
+    }
+
+    /**
+     * Find the end of a name, which starts at the given position.
+     * @param xpath The query
+     * @param start Position of the first char of the name
+     * @return Position after the last char of the name
+     */
+    private static int name(final String xpath, final int start) {
+        int pos = start;
+        while (pos < xpath.length()) {
+            final char chr = xpath.charAt(pos);
+            if (!Character.isLetterOrDigit(chr) && chr != '_'
+                && chr != '-' && chr != '.') {
+                break;
+            }
+            ++pos;
+        }
+        return pos;
+    }
+
+    /**
+     * Can a name start with this char?
+     * @param chr The char
+     * @return TRUE if it can
+     */
+    private static boolean starts(final char chr) {
+        return Character.isLetter(chr) || chr == '_';
+    }
+
+    /**
+     * Kind of token.
+     *
+     * @since 2.0
+     */
+    private enum Kind {
+        /**
+         * Name, maybe with a prefix.
+         */
+        NAME,
+        /**
+         * String literal or number.
+         */
+        VALUE,
+        /**
+         * Operator or punctuation.
+         */
+        SYMBOL
+    }
+
+    /**
+     * Token of the query.
+     *
+     * @since 2.0
+     */
+    private static final class Token {
+
+        /**
+         * Kind of token.
+         */
+        private final XPathQuery.Kind kind;
+
+        /**
+         * Text of the token.
+         */
+        private final String text;
+
+        /**
+         * Namespace prefix of the name, or NULL.
+         */
+        private final String prefix;
+
+        /**
+         * Position of the token in the query.
+         */
+        private final int start;
+
+        /**
+         * Ctor.
+         * @param knd Kind of token
+         * @param txt Text of the token
+         * @param pfx Namespace prefix of the name, or NULL
+         * @param pos Position of the token in the query
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        Token(final XPathQuery.Kind knd, final String txt, final String pfx,
+            final int pos) {
+            this.kind = knd;
+            this.text = txt;
+            this.prefix = pfx;
+            this.start = pos;
+        }
+    }
+}
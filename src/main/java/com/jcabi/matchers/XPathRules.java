@@ -0,0 +1,296 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import com.jcabi.xml.XPathContext;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.transform.Source;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Set of XPath rules, which can be checked against many documents.
+ *
+ * <p>The rules are compiled only once, when the set is created, and every
+ * document is parsed only once, no matter how many rules there are. For
+ * example, to check all XML files in a directory tree in four threads:
+ *
+ * <pre> try (Stream&lt;Path&gt; files = Files.walk(dir)) {
+ *   final CorpusReport report = new XPathRules(
+ *     "/order[@id]", "//item[price &gt; 0]"
+ *   ).check(files.filter(f -&gt; f.toString().endsWith(".xml")), 4);
+ *   MatcherAssert.assertThat(
+ *     report.toString(), report.passed(), Matchers.is(true)
+ *   );
+ * }</pre>
+ *
+ * <p>Documents may be anything {@link XhtmlMatchers#xhtml(Object)}
+ * understands, including {@link Path} and {@link Source}. They are
+ * checked concurrently, but no more of them are parsed at the same time,
+ * than there are threads, so memory consumption doesn't depend on
+ * the number of documents. Only failures are kept for the report.
+ * When checking of a document crashes with an unexpected exception,
+ * no more documents are taken, the ones being checked are cancelled and
+ * the exception is thrown, with the name of the document.
+ *
+ * <p>Objects of this class are immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = "rules")
+@EqualsAndHashCode(of = "rules")
+public final class XPathRules {
+
+    /**
+     * The rules.
+     */
+    private final transient List<XPathMatcher<Object>> rules;
+
+    /**
+     * Public ctor.
+     * @param xpaths The rules
+     */
+    public XPathRules(final String... xpaths) {
+        this(Arrays.asList(xpaths), new XPathContext());
+    }
+
+    /**
+     * Public ctor.
+     * @param xpaths The rules
+     * @param ctx The context
+     */
+    public XPathRules(final Iterable<String> xpaths,
+        final NamespaceContext ctx) {
+        this(xpaths, ctx, XPathEngines.current());
+    }
+
+    /**
+     * Public ctor.
+     * @param xpaths The rules
+     * @param ctx The context
+     * @param engine The engine
+     */
+    public XPathRules(final Iterable<String> xpaths,
+        final NamespaceContext ctx, final XPathEngine<?> engine) {
+        final List<XPathMatcher<Object>> list = new ArrayList<>(0);
+        for (final String xpath : xpaths) {
+            final XPathMatcher<Object> rule =
+                new XPathMatcher<>(xpath, ctx, engine);
+            rule.compile();
+            list.add(rule);
+        }
+        this.rules = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Check all rules against every document.
+     * @param documents The documents
+     * @param threads How many documents to check at the same time
+     * @return Report of failures
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public CorpusReport check(final Stream<?> documents, final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Number of threads must be positive, %d given", threads
+                )
+            );
+        }
+        final Collection<XPathRules.Result> failed =
+            new ConcurrentLinkedQueue<>();
+        final AtomicReference<RuntimeException> crash =
+            new AtomicReference<>();
+        final Semaphore slots = new Semaphore(threads);
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        int total = 0;
+        try {
+            final Iterator<?> docs = documents.iterator();
+            slots.acquire();
+            while (crash.get() == null && docs.hasNext()) {
+                final Object doc = docs.next();
+                final int idx = total;
+                try {
+                    pool.execute(
+                        () -> {
+                            try {
+                                this.check(idx, doc).ifPresent(failed::add);
+                                // @checkstyle IllegalCatchCheck (1 line)
+                            } catch (final RuntimeException ex) {
+                                crash.compareAndSet(
+                                    null,
+                                    new IllegalStateException(
+                                        String.format(
+                                            "Can't check document %s",
+                                            XPathRules.name(idx, doc)
+                                        ),
+                                        ex
+                                    )
+                                );
+                            } finally {
+                                slots.release();
+                            }
+                        }
+                    );
+                } catch (final RejectedExecutionException ex) {
+                    slots.release();
+                    throw ex;
+                }
+                ++total;
+                slots.acquire();
+            }
+            slots.release();
+            pool.shutdown();
+            if (crash.get() == null) {
+                slots.acquire(threads);
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } finally {
+            pool.shutdownNow();
+        }
+        if (crash.get() != null) {
+            throw crash.get();
+        }
+        final List<XPathRules.Result> sorted = new ArrayList<>(failed);
+        sorted.sort(Comparator.comparingInt(res -> res.index));
+        final CorpusReport report = new CorpusReport(total, this.names());
+        for (final XPathRules.Result res : sorted) {
+            report.add(res.index, res.name, res.rules, res.error);
+        }
+        return report;
+    }
+
+    /**
+     * Check all rules against one document.
+     * @param idx Position of the document
+     * @param doc The document
+     * @return Failure, if any
+     */
+    private Optional<XPathRules.Result> check(final int idx,
+        final Object doc) {
+        final List<String> broken = new ArrayList<>(0);
+        String error = null;
+        try {
+            final XmlInput xml = new XmlInput(doc);
+            for (final XPathMatcher<Object> rule : this.rules) {
+                if (!rule.evaluate(xml)) {
+                    broken.add(rule.xpath());
+                }
+            }
+        } catch (final IllegalArgumentException | IllegalStateException ex) {
+            if (ex.getCause() == null) {
+                error = ex.getMessage();
+            } else {
+                error = String.format(
+                    "%s: %s", ex.getMessage(), ex.getCause().getMessage()
+                );
+            }
+        }
+        final Optional<XPathRules.Result> result;
+        if (broken.isEmpty() && error == null) {
+            result = Optional.empty();
+        } else {
+            result = Optional.of(
+                new XPathRules.Result(
+                    idx, XPathRules.name(idx, doc), broken, error
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Queries of the rules.
+     * @return Queries
+     */
+    private List<String> names() {
+        final List<String> names = new ArrayList<>(this.rules.size());
+        for (final XPathMatcher<Object> rule : this.rules) {
+            names.add(rule.xpath());
+        }
+        return names;
+    }
+
+    /**
+     * Name of the document for the report.
+     * @param idx Position of it
+     * @param doc The document
+     * @return Name
+     */
+    private static String name(final int idx, final Object doc) {
+        String name = null;
+        if (doc instanceof Path) {
+            name = doc.toString();
+        } else if (doc instanceof Source) {
+            name = ((Source) doc).getSystemId();
+        }
+        if (name == null) {
+            name = String.format("#%d", idx);
+        }
+        return name;
+    }
+
+    /**
+     * Failure of one document.
+     *
+     * @since 2.0
+     */
+    private static final class Result {
+
+        /**
+         * Position of the document.
+         */
+        private final int index;
+
+        /**
+         * Name of the document.
+         */
+        private final String name;
+
+        /**
+         * Rules, which failed.
+         */
+        private final List<String> rules;
+
+        /**
+         * Why the document can't be checked, or NULL.
+         */
+        private final String error;
+
+        /**
+         * Ctor.
+         * @param idx Position of the document
+         * @param label Name of the document
+         * @param failed Rules, which failed
+         * @param err Why the document can't be checked, or NULL
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        Result(final int idx, final String label, final List<String> failed,
+            final String err) {
+            this.index = idx;
+            this.name = label;
+            this.rules = failed;
+            this.error = err;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+/**
+ * Matcher of values, which XPath query selects in XML.
+ *
+ * <p>The document is parsed and the query is evaluated only once, and
+ * the values it selects are given to the nested matcher: either the
+ * value of the first selected node, or the list of all values. The values
+ * of the last failed evaluation are memorized, see
+ * {@link MemoizingMatcher}.
+ *
+ * <p>Objects of this class are immutable and thread-safe, as long as
+ * the nested matcher is.
+ *
+ * @param <T> Type of param
+ * @since 2.0
+ */
+@ToString(of = { "xpath", "matcher" })
+@EqualsAndHashCode(callSuper = false, of = { "xpath", "matcher", "all" })
+final class XPathValueMatcher<T> extends MemoizingMatcher<T, List<String>> {
+
+    /**
+     * The query.
+     */
+    private final transient XPathMatcher<T> xpath;
+
+    /**
+     * Matcher of the value, or of the list of all values.
+     */
+    private final transient Matcher<?> matcher;
+
+    /**
+     * Match the list of all values, not just the first one?
+     */
+    private final transient boolean all;
+
+    /**
+     * Ctor.
+     * @param query The query
+     * @param value Matcher of the value, or of the list of values
+     * @param list Give the list of all values to the matcher?
+     */
+    XPathValueMatcher(final XPathMatcher<T> query, final Matcher<?> value,
+        final boolean list) {
+        super();
+        this.xpath = query;
+        this.matcher = value;
+        this.all = list;
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        this.xpath.describeTo(description);
+        if (this.all) {
+            description.appendText(" and values ");
+        } else {
+            description.appendText(" and value ");
+        }
+        description.appendDescriptionOf(this.matcher);
+    }
+
+    @Override
+    protected List<String> evaluate(final T item) {
+        return this.values(item);
+    }
+
+    @Override
+    protected boolean accepts(final List<String> values) {
+        final boolean matches;
+        if (this.all) {
+            matches = this.matcher.matches(values);
+        } else {
+            matches = !values.isEmpty() && this.matcher.matches(values.get(0));
+        }
+        return matches;
+    }
+
+    @Override
+    protected void explain(final List<String> values,
+        final Description description) {
+        if (this.all) {
+            description.appendText("values ");
+            this.matcher.describeMismatch(values, description);
+        } else if (values.isEmpty()) {
+            description.appendText("selected nothing");
+        } else {
+            description.appendText("value ");
+            this.matcher.describeMismatch(values.get(0), description);
+        }
+    }
+
+    /**
+     * Evaluate the query against the input.
+     * @param input The input
+     * @return Values it selects
+     */
+    private List<String> values(final T input) {
+        final XmlInput xml;
+        if (input instanceof XmlInput) {
+            xml = (XmlInput) input;
+        } else {
+            xml = new XmlInput(input);
+        }
+        return this.xpath.values(xml);
+    }
+}
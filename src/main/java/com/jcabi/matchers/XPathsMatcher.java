@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.concurrent.ForkJoinPool;
+import org.hamcrest.Description;
+import org.hamcrest.DiagnosingMatcher;
+import org.hamcrest.Matcher;
+
+/**
+ * Matcher of many XPath queries against one document, which is parsed
+ * only once and then shared by all of them.
+ *
+ * <p>Only the queries that failed are reported, see
+ * {@link AllOfThatPrintsOnlyWrongMatchers}. When a {@link ForkJoinPool}
+ * is given, the queries are evaluated in it concurrently. The number
+ * of failed queries to collect may be limited, to stop early. The parsed
+ * document is memorized between {@code matches()} and
+ * {@code describeMismatch()}, see {@link MismatchMemo}.
+ *
+ * @param <T> Type of argument
+ * @since 2.0
+ */
+final class XPathsMatcher<T> extends DiagnosingMatcher<T> {
+
+    /**
+     * All XPath matchers together.
+     */
+    private final transient AllOfThatPrintsOnlyWrongMatchers<T> all;
+
+    /**
+     * Input of the last failed evaluation.
+     */
+    private final transient MismatchMemo<XmlInput> memo;
+
+    /**
+     * Ctor.
+     * @param matchers XPath matchers to evaluate
+     */
+    XPathsMatcher(final Iterable<Matcher<? super T>> matchers) {
+        this(matchers, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     * @param matchers XPath matchers to evaluate
+     * @param pool Pool to evaluate them in, or NULL to do it one by one
+     * @param limit Maximum number of failed queries to collect
+     */
+    XPathsMatcher(final Iterable<Matcher<? super T>> matchers,
+        final ForkJoinPool pool, final int limit) {
+        super();
+        this.all = new AllOfThatPrintsOnlyWrongMatchers<>(
+            matchers, pool, limit
+        );
+        this.memo = new MismatchMemo<>();
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        this.all.describeTo(description);
+    }
+
+    @Override
+    public boolean matches(final Object obj, final Description mismatch) {
+        final boolean quiet = mismatch == Description.NONE;
+        XmlInput input = null;
+        if (quiet) {
+            this.memo.clear();
+        } else {
+            input = this.memo.take(obj);
+        }
+        if (input == null) {
+            input = new XmlInput(obj);
+        }
+        final boolean matches = this.all.matches(input, mismatch);
+        if (quiet && !matches) {
+            this.memo.put(obj, input);
+        }
+        return matches;
+    }
+}
@@ -6,19 +6,22 @@ package com.jcabi.matchers;
 
 import com.jcabi.xml.XPathContext;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
-import java.nio.charset.StandardCharsets;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.transform.Source;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.hamcrest.Matcher;
 import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
 
 /**
  * Convenient set of matchers for XHTML/XML content.
@@ -55,11 +58,20 @@ public final class XhtmlMatchers {
      * );</pre>
      *
      * <p>The method understands different input types differently. For example,
-     * an {@link InputStream} will be read as a UTF-8 document, {@link Reader}
-     * will be read as a document, a {@link Source} will be used "as is",
+     * an {@link InputStream} will be parsed in the encoding declared in the
+     * document (UTF-8 by default), {@link Reader} will be parsed as a
+     * document, both without reading them into a string first,
+     * a {@link Path} will be parsed as a file the same way,
+     * a {@link Source} will be used "as is",
      * {@link Node} will be printed as a text, etc. The goal is to make any
      * input type presentable as an XML document, as much as it is possible.
      *
+     * <p>Text, streams, readers and files are not parsed by this method,
+     * but only when the document is needed, for example, by a matcher.
+     * That's why a broken document is not reported here, but later, with
+     * {@link IllegalArgumentException}, while a missing file is reported
+     * when it's read.
+     *
      * @param xhtml The source of data
      * @param <T> Type of source
      * @return Renderable source
@@ -70,16 +82,11 @@ public final class XhtmlMatchers {
         if (xhtml instanceof Source) {
             source = (Source) xhtml;
         } else if (xhtml instanceof InputStream) {
-            source = new StringSource(
-                readAsString(
-                    new InputStreamReader(
-                        (InputStream) xhtml,
-                        StandardCharsets.UTF_8
-                    )
-                )
-            );
+            source = new StringSource(new InputSource((InputStream) xhtml));
         } else if (xhtml instanceof Reader) {
-            source = new StringSource(readAsString((Reader) xhtml));
+            source = new StringSource(new InputSource((Reader) xhtml));
+        } else if (xhtml instanceof Path) {
+            source = XhtmlMatchers.file((Path) xhtml);
         } else if (xhtml instanceof Node) {
             source = new StringSource((Node) xhtml);
         } else {
@@ -132,6 +139,267 @@ public final class XhtmlMatchers {
         return new XPathMatcher<T>(query, ctx);
     }
 
+    /**
+     * Matches content against XPath query, evaluated by the given engine.
+     * @param query The query
+     * @param engine The engine
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPath(final String query,
+        final XPathEngine<?> engine) {
+        return XhtmlMatchers.hasXPath(query, new XPathContext(), engine);
+    }
+
+    /**
+     * Matches content against XPath query, with custom context, evaluated
+     * by the given engine.
+     * @param query The query
+     * @param ctx The context
+     * @param engine The engine
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPath(final String query,
+        final NamespaceContext ctx, final XPathEngine<?> engine) {
+        return new XPathMatcher<T>(query, ctx, engine);
+    }
+
+    /**
+     * Matches the value, which XPath query selects in the content. The
+     * query must select something and the string value of the first
+     * selected node must match, for example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   "&lt;book&gt;&lt;price&gt;42&lt;/price&gt;&lt;/book&gt;",
+     *   XhtmlMatchers.hasXPath("/book/price", Matchers.equalTo("42"))
+     * );</pre>
+     *
+     * <p>The content is parsed only once, no matter how many values
+     * the query selects.
+     *
+     * @param query The query
+     * @param value Matcher of the value
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPath(final String query,
+        final Matcher<? super String> value) {
+        return XhtmlMatchers.hasXPath(query, new XPathContext(), value);
+    }
+
+    /**
+     * Matches the value, which XPath query with custom context selects
+     * in the content.
+     * @param query The query
+     * @param ctx The context
+     * @param value Matcher of the value
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPath(final String query,
+        final NamespaceContext ctx, final Matcher<? super String> value) {
+        return new XPathValueMatcher<T>(
+            new XPathMatcher<T>(query, ctx), value, false
+        );
+    }
+
+    /**
+     * Matches all values, which XPath query selects in the content, in
+     * document order, for example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   "&lt;a&gt;&lt;b&gt;1&lt;/b&gt;&lt;b&gt;2&lt;/b&gt;&lt;/a&gt;",
+     *   XhtmlMatchers.hasXPathValues("/a/b", Matchers.contains("1", "2"))
+     * );</pre>
+     *
+     * @param query The query
+     * @param values Matcher of the list of values
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPathValues(final String query,
+        final Matcher<? super List<String>> values) {
+        return XhtmlMatchers.hasXPathValues(query, new XPathContext(), values);
+    }
+
+    /**
+     * Matches all values, which XPath query with custom context selects
+     * in the content, in document order.
+     * @param query The query
+     * @param ctx The context
+     * @param values Matcher of the list of values
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPathValues(final String query,
+        final NamespaceContext ctx,
+        final Matcher<? super List<String>> values) {
+        return new XPathValueMatcher<T>(
+            new XPathMatcher<T>(query, ctx), values, true
+        );
+    }
+
+    /**
+     * Matches the number of nodes, which XPath query selects in the content,
+     * for example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   "&lt;table&gt;&lt;row/&gt;&lt;row/&gt;&lt;/table&gt;",
+     *   XhtmlMatchers.hasXPathCount("//row", Matchers.equalTo(2))
+     * );</pre>
+     *
+     * <p>The nodes are counted without collecting them, which is much
+     * cheaper for big documents than matching a list of them.
+     *
+     * @param query The query
+     * @param count Matcher of the number of nodes
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPathCount(final String query,
+        final Matcher<? super Integer> count) {
+        return XhtmlMatchers.hasXPathCount(query, new XPathContext(), count);
+    }
+
+    /**
+     * Matches the number of nodes, which XPath query with custom context
+     * selects in the content.
+     * @param query The query
+     * @param ctx The context
+     * @param count Matcher of the number of nodes
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPathCount(final String query,
+        final NamespaceContext ctx, final Matcher<? super Integer> count) {
+        return new XPathCountMatcher<T>(new XPathMatcher<T>(query, ctx), count);
+    }
+
+    /**
+     * Matches content, which is valid against XSD schema, for example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   "&lt;order id='1'/&gt;",
+     *   XhtmlMatchers.validAgainst(
+     *     this.getClass().getResource("order.xsd")
+     *   )
+     * );</pre>
+     *
+     * <p>The schema is compiled only once per JVM and cached by its
+     * location, so it isn't even read again. Its relative imports and
+     * includes are resolved against its location. Text-based content is
+     * validated while it's parsed, without building a DOM.
+     *
+     * @param schema Location of the schema
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> validAgainst(final URL schema) {
+        return new SchemaMatcher<T>(schema.toString(), Schemas.schema(schema));
+    }
+
+    /**
+     * Matches content, which is valid against XSD schema, given as a text.
+     * The schema is compiled only once per JVM and cached by its content.
+     * @param xsd Text of the schema
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> validAgainst(final String xsd) {
+        return new SchemaMatcher<T>("given inline", Schemas.schema(xsd));
+    }
+
+    /**
+     * Matches the result of XSL transformation of the content, for example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   "&lt;order id='1'/&gt;",
+     *   XhtmlMatchers.transformedBy(
+     *     this.getClass().getResource("order.xsl"),
+     *     XhtmlMatchers.hasXPath("/html/body/p[.='1']")
+     *   )
+     * );</pre>
+     *
+     * <p>The stylesheet is compiled only once per JVM and cached by its
+     * location, so it isn't even read again. Its relative imports and
+     * includes are resolved against its location. The result of
+     * transformation is given to the nested matcher as a DOM, without
+     * serializing it.
+     *
+     * @param xsl Location of the stylesheet
+     * @param result Matcher of the result
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> transformedBy(final URL xsl,
+        final Matcher<? super Source> result) {
+        return new XslMatcher<T>(
+            xsl.toString(), Stylesheets.templates(xsl), result
+        );
+    }
+
+    /**
+     * Matches the result of XSL transformation of the content, with
+     * the stylesheet given as a text. The stylesheet is compiled only once
+     * per JVM and cached by its content.
+     * @param xsl Text of the stylesheet
+     * @param result Matcher of the result
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> transformedBy(final String xsl,
+        final Matcher<? super Source> result) {
+        return new XslMatcher<T>(
+            "given inline", Stylesheets.templates(xsl), result
+        );
+    }
+
+    /**
+     * Matches content, which is equivalent to the expected XML document,
+     * for example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   "&lt;a y='2' x='1'&gt; &lt;b&gt;hi&lt;/b&gt; &lt;/a&gt;",
+     *   XhtmlMatchers.isEquivalentTo(
+     *     "&lt;a x='1' y='2'&gt;&lt;b&gt;hi&lt;/b&gt;&lt;/a&gt;"
+     *   )
+     * );</pre>
+     *
+     * <p>The order of attributes, namespace prefixes, comments and whitespace
+     * around texts don't matter. Both documents are read together, without
+     * building a DOM, until the first difference, which is reported
+     * with the path to it, like {@code /a[1]/b[2]}.
+     *
+     * @param expected The expected document, in any form accepted by
+     *  {@link #xhtml(Object)}
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> isEquivalentTo(final Object expected) {
+        final Source source = XhtmlMatchers.xhtml(expected);
+        final String xml;
+        if (source instanceof StringSource) {
+            xml = ((StringSource) source).text();
+        } else {
+            xml = new StringSource(XmlPool.dom(source)).text();
+        }
+        return new EquivalenceMatcher<T>(new StringSource(xml));
+    }
+
     /**
      * Matches content against list of XPaths.
      * @param xpaths The query
@@ -144,6 +412,11 @@ public final class XhtmlMatchers {
 
     /**
      * Matches content against list of XPaths.
+     *
+     * <p>The content is parsed only once and all XPaths are evaluated
+     * against the same document. Only the XPaths that don't match are
+     * reported.
+     *
      * @param xpaths The query
      * @param <T> Type of XML content provided
      * @return Matcher suitable for JUnit/Hamcrest matching
@@ -154,23 +427,194 @@ public final class XhtmlMatchers {
         for (final String xpath : xpaths) {
             list.add(XhtmlMatchers.hasXPath(xpath));
         }
-        return new AllOfThatPrintsOnlyWrongMatchers<>(list);
+        return new XPathsMatcher<>(list);
     }
 
     /**
-     * Reads an entire reader's contents into a string.
-     * @param reader The stream to read
-     * @return The reader content, in String form
+     * Matches content against list of XPaths, until the given number
+     * of them fail.
+     * @param limit Maximum number of failed XPaths to collect
+     * @param xpaths The query
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
      */
-    private static String readAsString(final Reader reader) {
-        final String result;
-        try (Scanner scanner = new Scanner(reader).useDelimiter("\\A")) {
-            if (scanner.hasNext()) {
-                result = scanner.next();
-            } else {
-                result = "";
-            }
+    public static <T> Matcher<T> hasXPaths(final int limit,
+        final String... xpaths) {
+        return XhtmlMatchers.hasXPaths(limit, Arrays.asList(xpaths));
+    }
+
+    /**
+     * Matches content against list of XPaths, until the given number
+     * of them fail.
+     *
+     * <p>With the limit of one, it fails fast: the XPaths after the first
+     * failed one are not evaluated at all, which saves a lot of time when
+     * all of them fail on a broken document. With {@link Integer#MAX_VALUE}
+     * it collects all failed XPaths, like {@link #hasXPaths(Iterable)}.
+     * For example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   page,
+     *   XhtmlMatchers.hasXPaths(5, xpaths)
+     * );</pre>
+     *
+     * @param limit Maximum number of failed XPaths to collect
+     * @param xpaths The query
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPaths(final int limit,
+        final Iterable<String> xpaths) {
+        final Collection<Matcher<? super T>> list = new LinkedList<>();
+        for (final String xpath : xpaths) {
+            list.add(XhtmlMatchers.hasXPath(xpath));
         }
-        return result;
+        return new XPathsMatcher<>(list, null, limit);
+    }
+
+    /**
+     * Matches content against list of XPaths, evaluated concurrently.
+     * @param pool The pool to evaluate XPaths in
+     * @param xpaths The query
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPaths(final ForkJoinPool pool,
+        final String... xpaths) {
+        return XhtmlMatchers.hasXPaths(pool, Arrays.asList(xpaths));
+    }
+
+    /**
+     * Matches content against list of XPaths, evaluated concurrently.
+     *
+     * <p>The content is parsed only once and then all XPaths are evaluated
+     * against the same read-only document in the pool. It pays off for
+     * hundreds of XPaths or for heavy ones. Only the XPaths that don't
+     * match are reported, in the same order as by
+     * {@link #hasXPaths(Iterable)}. For example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   report,
+     *   XhtmlMatchers.hasXPaths(ForkJoinPool.commonPool(), xpaths)
+     * );</pre>
+     *
+     * @param pool The pool to evaluate XPaths in
+     * @param xpaths The query
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasXPaths(final ForkJoinPool pool,
+        final Iterable<String> xpaths) {
+        final Collection<Matcher<? super T>> list = new LinkedList<>();
+        for (final String xpath : xpaths) {
+            list.add(XhtmlMatchers.hasXPath(xpath));
+        }
+        return new XPathsMatcher<>(list, pool, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Matches content against XPath query, evaluated while the content
+     * is being parsed, without building a DOM.
+     *
+     * <p>Use it for very large documents, which don't fit into memory.
+     * Only a forward-only subset of XPath is supported: absolute paths
+     * with child and descendant axes, name tests, attribute predicates,
+     * text predicates on the last step, a final attribute or
+     * {@code text()} step, and {@code count()} compared with a number.
+     * For example:
+     *
+     * <pre> MatcherAssert.assertThat(
+     *   new FileInputStream("huge.xml"),
+     *   XhtmlMatchers.hasStreamingXPath("count(//row[@status='ok']) = 500000")
+     * );</pre>
+     *
+     * @param query The query
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasStreamingXPath(final String query) {
+        return XhtmlMatchers.hasStreamingXPath(query, new XPathContext());
+    }
+
+    /**
+     * Matches content against XPath query, evaluated while the content
+     * is being parsed, with custom namespaces.
+     * @param query The query
+     * @param namespaces List of namespaces
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @see #hasStreamingXPath(String)
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasStreamingXPath(final String query,
+        final Object... namespaces) {
+        return XhtmlMatchers.hasStreamingXPath(
+            query, new XPathContext(namespaces)
+        );
+    }
+
+    /**
+     * Matches content against XPath query, evaluated while the content
+     * is being parsed, with custom context.
+     * @param query The query
+     * @param ctx The context
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @see #hasStreamingXPath(String)
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasStreamingXPath(final String query,
+        final NamespaceContext ctx) {
+        return new StreamingXPathMatcher<T>(
+            Collections.singleton(query), ctx
+        );
+    }
+
+    /**
+     * Matches content against list of XPaths, evaluated all together
+     * in one pass while the content is being parsed, without building
+     * a DOM.
+     *
+     * <p>Parsing stops as soon as every query knows its result. For
+     * example, existence queries like {@code /page/head/title} usually
+     * don't need more than the first few kilobytes of a document.
+     *
+     * @param xpaths The queries
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @see #hasStreamingXPath(String)
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasStreamingXPaths(final String... xpaths) {
+        return XhtmlMatchers.hasStreamingXPaths(Arrays.asList(xpaths));
+    }
+
+    /**
+     * Matches content against list of XPaths, evaluated all together
+     * in one pass while the content is being parsed.
+     * @param xpaths The queries
+     * @param <T> Type of XML content provided
+     * @return Matcher suitable for JUnit/Hamcrest matching
+     * @see #hasStreamingXPaths(String...)
+     * @since 2.0
+     */
+    public static <T> Matcher<T> hasStreamingXPaths(
+        final Iterable<String> xpaths) {
+        return new StreamingXPathMatcher<T>(xpaths, new XPathContext());
+    }
+
+    /**
+     * Source of the file, which is read only when it's needed, in the
+     * encoding declared in it.
+     * @param path The file
+     * @return Source
+     */
+    private static Source file(final Path path) {
+        return new StringSource(new InputSource(path.toUri().toString()));
     }
 }
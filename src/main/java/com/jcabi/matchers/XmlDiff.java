@@ -0,0 +1,426 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * First difference between two XML documents, which are read in lockstep
+ * from two StAX readers.
+ *
+ * <p>The documents are equivalent when they have the same elements, with
+ * the same namespaces and local names, the same attributes and the same
+ * texts. Namespace prefixes, the order of attributes, comments,
+ * processing instructions and whitespace around texts don't matter,
+ * while runs of whitespace inside texts are compared as single spaces.
+ * Reading stops at the first difference. Memory consumption doesn't
+ * depend on the size of the documents, only on their depth.
+ *
+ * <p>Objects of this class are not thread-safe and can be used only once.
+ *
+ * @since 2.0
+ */
+final class XmlDiff {
+
+    /**
+     * Maximum length of a text to print.
+     */
+    private static final int MAX_TEXT = 64;
+
+    /**
+     * Expected document.
+     */
+    private final transient XmlDiff.Cursor expected;
+
+    /**
+     * Actual document.
+     */
+    private final transient XmlDiff.Cursor actual;
+
+    /**
+     * Path to the current element, like {@code /a[1]/b[2]}.
+     */
+    private final transient Deque<String> path;
+
+    /**
+     * Numbers of child elements by their names, one map per open element.
+     */
+    private final transient Deque<Map<String, Integer>> positions;
+
+    /**
+     * Ctor.
+     * @param left Reader of the expected document
+     * @param right Reader of the actual document
+     */
+    XmlDiff(final XMLStreamReader left, final XMLStreamReader right) {
+        this.expected = new XmlDiff.Cursor(left);
+        this.actual = new XmlDiff.Cursor(right);
+        this.path = new ArrayDeque<>(0);
+        this.positions = new ArrayDeque<>(0);
+        this.positions.push(new HashMap<>(1));
+    }
+
+    /**
+     * Find the first difference.
+     * @return Description of it, with the path where it is found, or
+     *  NULL if the documents are equivalent
+     */
+    String first() {
+        String diff = null;
+        try {
+            do {
+                this.expected.next();
+                this.actual.next();
+                diff = this.compare();
+            } while (diff == null
+                && this.expected.event != XMLStreamConstants.END_DOCUMENT);
+        } catch (final XMLStreamException ex) {
+            throw new IllegalArgumentException(
+                "Can't parse, most probably the XML is invalid", ex
+            );
+        }
+        if (diff != null) {
+            final StringBuilder where = new StringBuilder(0);
+            for (final String step : this.path) {
+                where.insert(0, step);
+            }
+            if (where.length() == 0) {
+                where.append('/');
+            }
+            diff = String.format("at %s: %s", where, diff);
+        }
+        return diff;
+    }
+
+    /**
+     * Compare current events of both documents.
+     * @return Difference or NULL
+     */
+    private String compare() {
+        String diff = null;
+        if (this.expected.event != this.actual.event) {
+            diff = XmlDiff.differ(this.expected.token(), this.actual.token());
+        } else if (this.expected.event == XMLStreamConstants.START_ELEMENT) {
+            this.enter();
+            if (!this.expected.sameName(this.actual)) {
+                diff = XmlDiff.differ(
+                    this.expected.token(), this.actual.token()
+                );
+            } else {
+                diff = this.attributes();
+            }
+        } else if (this.expected.event == XMLStreamConstants.CHARACTERS) {
+            if (!this.expected.text.equals(this.actual.text)) {
+                diff = XmlDiff.differ(
+                    this.expected.token(), this.actual.token()
+                );
+            }
+        } else if (this.expected.event == XMLStreamConstants.END_ELEMENT) {
+            this.path.pop();
+            this.positions.pop();
+        }
+        return diff;
+    }
+
+    /**
+     * Register the start of the expected element in the path.
+     */
+    private void enter() {
+        final String name = this.expected.name();
+        final Integer pos = this.positions.peek().merge(name, 1, Integer::sum);
+        this.path.push(String.format("/%s[%d]", name, pos));
+        this.positions.push(new HashMap<>(1));
+    }
+
+    /**
+     * Compare attributes of current elements, in any order.
+     * @return Difference or NULL
+     */
+    private String attributes() {
+        final XMLStreamReader left = this.expected.reader;
+        final XMLStreamReader right = this.actual.reader;
+        String diff = null;
+        for (int idx = 0; diff == null
+            && idx < left.getAttributeCount(); ++idx) {
+            final String value = XmlDiff.attribute(
+                right, XmlDiff.namespace(left.getAttributeNamespace(idx)),
+                left.getAttributeLocalName(idx)
+            );
+            if (!left.getAttributeValue(idx).equals(value)) {
+                diff = XmlDiff.differ(
+                    XmlDiff.describe(left, idx),
+                    XmlDiff.value(value)
+                );
+            }
+        }
+        for (int idx = 0; diff == null
+            && idx < right.getAttributeCount(); ++idx) {
+            final String value = XmlDiff.attribute(
+                left, XmlDiff.namespace(right.getAttributeNamespace(idx)),
+                right.getAttributeLocalName(idx)
+            );
+            if (value == null) {
+                diff = XmlDiff.differ(
+                    "no such attribute", XmlDiff.describe(right, idx)
+                );
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Describe the difference.
+     * @param left What was expected
+     * @param right What was found
+     * @return Difference
+     */
+    private static String differ(final String left, final String right) {
+        return String.format("expected %s, but was %s", left, right);
+    }
+
+    /**
+     * Value of the attribute of the current element.
+     * @param reader The reader
+     * @param namespace Namespace URI of the attribute
+     * @param local Local name of it
+     * @return Value or NULL if there is no such attribute
+     */
+    private static String attribute(final XMLStreamReader reader,
+        final String namespace, final String local) {
+        String value = null;
+        for (int idx = 0; idx < reader.getAttributeCount(); ++idx) {
+            if (local.equals(reader.getAttributeLocalName(idx))
+                && namespace.equals(
+                    XmlDiff.namespace(reader.getAttributeNamespace(idx))
+                )) {
+                value = reader.getAttributeValue(idx);
+                break;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Describe the attribute of the current element.
+     * @param reader The reader
+     * @param idx Position of the attribute
+     * @return Description
+     */
+    private static String describe(final XMLStreamReader reader,
+        final int idx) {
+        return String.format(
+            "attribute @%s=\"%s\"",
+            XmlDiff.qualified(
+                reader.getAttributePrefix(idx),
+                reader.getAttributeLocalName(idx)
+            ),
+            reader.getAttributeValue(idx)
+        );
+    }
+
+    /**
+     * Describe the value of the attribute found, which may be absent.
+     * @param value The value or NULL
+     * @return Description
+     */
+    private static String value(final String value) {
+        final String text;
+        if (value == null) {
+            text = "no such attribute";
+        } else {
+            text = String.format("\"%s\"", value);
+        }
+        return text;
+    }
+
+    /**
+     * Namespace URI, which is empty if there is no namespace.
+     * @param uri The URI or NULL
+     * @return The URI
+     */
+    private static String namespace(final String uri) {
+        final String namespace;
+        if (uri == null) {
+            namespace = "";
+        } else {
+            namespace = uri;
+        }
+        return namespace;
+    }
+
+    /**
+     * Qualified name.
+     * @param prefix The prefix, maybe empty or NULL
+     * @param local The local name
+     * @return Name
+     */
+    private static String qualified(final String prefix, final String local) {
+        final String name;
+        if (prefix == null || prefix.isEmpty()) {
+            name = local;
+        } else {
+            name = String.format("%s:%s", prefix, local);
+        }
+        return name;
+    }
+
+    /**
+     * Reader of significant events: start and end of elements, texts
+     * and end of document. Texts are merged, trimmed and their whitespace
+     * is collapsed; texts of whitespace only are skipped.
+     *
+     * @since 2.0
+     */
+    private static final class Cursor {
+
+        /**
+         * The reader.
+         */
+        private final transient XMLStreamReader reader;
+
+        /**
+         * Current event.
+         */
+        private transient int event;
+
+        /**
+         * Current text, if the event is a text.
+         */
+        private transient String text;
+
+        /**
+         * Event, which is read already, but has to be reported after
+         * the current text, or zero.
+         */
+        private transient int pending;
+
+        /**
+         * Ctor.
+         * @param rdr The reader
+         */
+        Cursor(final XMLStreamReader rdr) {
+            this.reader = rdr;
+        }
+
+        /**
+         * Move to the next significant event.
+         * @throws XMLStreamException If fails to read
+         */
+        void next() throws XMLStreamException {
+            if (this.pending == 0) {
+                final StringBuilder buf = new StringBuilder(0);
+                int evt;
+                do {
+                    evt = this.reader.next();
+                    if (evt == XMLStreamConstants.CHARACTERS
+                        || evt == XMLStreamConstants.CDATA
+                        || evt == XMLStreamConstants.SPACE) {
+                        Cursor.collapse(buf, this.reader);
+                    }
+                } while (evt != XMLStreamConstants.START_ELEMENT
+                    && evt != XMLStreamConstants.END_ELEMENT
+                    && evt != XMLStreamConstants.END_DOCUMENT);
+                if (buf.length() > 0 && buf.charAt(buf.length() - 1) == ' ') {
+                    buf.setLength(buf.length() - 1);
+                }
+                if (buf.length() == 0) {
+                    this.event = evt;
+                } else {
+                    this.event = XMLStreamConstants.CHARACTERS;
+                    this.text = buf.toString();
+                    this.pending = evt;
+                }
+            } else {
+                this.event = this.pending;
+                this.pending = 0;
+            }
+        }
+
+        /**
+         * Is the current element of the same name as the other one?
+         * @param other The other cursor
+         * @return TRUE if it is
+         */
+        boolean sameName(final XmlDiff.Cursor other) {
+            return this.reader.getLocalName().equals(
+                other.reader.getLocalName()
+            ) && XmlDiff.namespace(this.reader.getNamespaceURI()).equals(
+                XmlDiff.namespace(other.reader.getNamespaceURI())
+            );
+        }
+
+        /**
+         * Qualified name of the current element.
+         * @return Name
+         */
+        String name() {
+            return XmlDiff.qualified(
+                this.reader.getPrefix(), this.reader.getLocalName()
+            );
+        }
+
+        /**
+         * Describe the current event.
+         * @return Description
+         */
+        String token() {
+            final String token;
+            if (this.event == XMLStreamConstants.START_ELEMENT) {
+                final String namespace =
+                    XmlDiff.namespace(this.reader.getNamespaceURI());
+                if (namespace.isEmpty()) {
+                    token = String.format("element <%s>", this.name());
+                } else {
+                    token = String.format(
+                        "element <%s> in namespace %s",
+                        this.name(), namespace
+                    );
+                }
+            } else if (this.event == XMLStreamConstants.CHARACTERS) {
+                if (this.text.length() > XmlDiff.MAX_TEXT) {
+                    token = String.format(
+                        "text \"%s...\"",
+                        this.text.substring(0, XmlDiff.MAX_TEXT)
+                    );
+                } else {
+                    token = String.format("text \"%s\"", this.text);
+                }
+            } else if (this.event == XMLStreamConstants.END_ELEMENT) {
+                token = "end of element";
+            } else {
+                token = "end of document";
+            }
+            return token;
+        }
+
+        /**
+         * Append the text of the current event to the buffer, with
+         * leading whitespace removed and runs of whitespace collapsed
+         * into single spaces.
+         * @param buf The buffer
+         * @param reader The reader
+         */
+        private static void collapse(final StringBuilder buf,
+            final XMLStreamReader reader) {
+            final char[] chars = reader.getTextCharacters();
+            final int end = reader.getTextStart() + reader.getTextLength();
+            for (int pos = reader.getTextStart(); pos < end; ++pos) {
+                final char chr = chars[pos];
+                if (!Character.isWhitespace(chr)) {
+                    buf.append(chr);
+                } else if (buf.length() > 0
+                    && buf.charAt(buf.length() - 1) != ' ') {
+                    buf.append(' ');
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.transform.Source;
+
+/**
+ * Input of XPath matchers, which is read and parsed only once, no matter
+ * how many XPath queries are evaluated against it.
+ *
+ * <p>Objects of this class are mutable, but thread-safe, so that many
+ * queries can be evaluated against one input concurrently. They are
+ * supposed to live only during one evaluation of a matcher.
+ *
+ * @since 2.0
+ */
+final class XmlInput {
+
+    /**
+     * The input, as provided by the user.
+     */
+    private final transient Object origin;
+
+    /**
+     * Source of the input, if it was made already.
+     */
+    private transient Source source;
+
+    /**
+     * Documents of the input, built by engines.
+     */
+    private final transient Map<XPathEngine<?>, Object> documents;
+
+    /**
+     * Ctor.
+     * @param input The input value
+     */
+    XmlInput(final Object input) {
+        this.origin = input;
+        this.documents = new HashMap<>(1);
+    }
+
+    /**
+     * The input, as provided by the user.
+     * @return The input value
+     */
+    Object origin() {
+        return this.origin;
+    }
+
+    /**
+     * Get the document of the input, built by the engine, only once
+     * per engine.
+     * @param engine The engine
+     * @param <D> Type of document
+     * @return Document
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <D> D document(final XPathEngine<D> engine) {
+        if (this.source == null) {
+            this.source = XhtmlMatchers.xhtml(this.origin);
+        }
+        D doc = (D) this.documents.get(engine);
+        if (doc == null) {
+            doc = engine.document(this.source);
+            this.documents.put(engine, doc);
+        }
+        return doc;
+    }
+}
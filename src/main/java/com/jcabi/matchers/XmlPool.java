@@ -0,0 +1,235 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Thread-confined pool of DOM, SAX and StAX parsers, XPath objects and
+ * identity transformers.
+ *
+ * <p>Looking up a factory through the service loader and making a parser
+ * or a transformer is expensive, while none of them is thread-safe. That's
+ * why every thread gets its own instances, made only once, and they are
+ * reset before every use. They must not be used in a reentrant way, for
+ * example, a document must not be parsed from inside a transformation,
+ * which uses the same thread-local transformer.
+ *
+ * <p>The class is thread-safe and can be used by tests running
+ * in parallel.
+ *
+ * @since 2.0
+ */
+final class XmlPool {
+
+    /**
+     * Parser feature, which turns loading of external DTDs on and off.
+     */
+    private static final String EXTERNAL_DTD =
+        "http://apache.org/xml/features/nonvalidating/load-external-dtd";
+
+    /**
+     * Namespace-aware DOM parsers, which never load external DTDs and
+     * never defer node expansion, which makes their documents safe for
+     * concurrent reading.
+     */
+    private static final ThreadLocal<DocumentBuilder> BUILDERS =
+        ThreadLocal.withInitial(XmlPool::newBuilder);
+
+    /**
+     * Namespace-aware SAX parsers, which never load external DTDs.
+     */
+    private static final ThreadLocal<SAXParser> PARSERS =
+        ThreadLocal.withInitial(XmlPool::newParser);
+
+    /**
+     * Namespace-aware and coalescing StAX factories, which never load
+     * external entities.
+     */
+    private static final ThreadLocal<XMLInputFactory> STAX =
+        ThreadLocal.withInitial(XmlPool::newStax);
+
+    /**
+     * XPath objects.
+     */
+    private static final ThreadLocal<XPath> XPATHS =
+        ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+    /**
+     * Identity transformers.
+     */
+    private static final ThreadLocal<Transformer> TRANSFORMERS =
+        ThreadLocal.withInitial(XmlPool::newTransformer);
+
+    /**
+     * Utility class.
+     */
+    private XmlPool() {
+        // intentionally empty
+    }
+
+    /**
+     * DOM parser of the current thread.
+     * @return Parser, ready for use
+     */
+    static DocumentBuilder builder() {
+        final DocumentBuilder builder = XmlPool.BUILDERS.get();
+        builder.reset();
+        return builder;
+    }
+
+    /**
+     * SAX reader of the current thread. Its handlers are not reset, they
+     * have to be set before every use.
+     * @return Reader, ready for use
+     */
+    static XMLReader reader() {
+        final SAXParser parser = XmlPool.PARSERS.get();
+        parser.reset();
+        try {
+            return parser.getXMLReader();
+        } catch (final SAXException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * StAX reader of the source, made by the factory of the current thread.
+     * The reader has to be closed after use.
+     * @param source The source, either {@link StreamSource}
+     *  or {@link javax.xml.transform.stax.StAXSource}
+     * @return Reader
+     */
+    static XMLStreamReader stax(final Source source) {
+        try {
+            return XmlPool.STAX.get().createXMLStreamReader(source);
+        } catch (final XMLStreamException ex) {
+            throw new IllegalArgumentException(
+                "Can't parse, most probably the XML is invalid", ex
+            );
+        }
+    }
+
+    /**
+     * XPath object of the current thread.
+     * @return XPath object, without namespace context
+     */
+    static XPath xpath() {
+        final XPath xpath = XmlPool.XPATHS.get();
+        xpath.reset();
+        return xpath;
+    }
+
+    /**
+     * Identity transformer of the current thread.
+     * @return Transformer, without any output properties
+     */
+    static Transformer transformer() {
+        final Transformer transformer = XmlPool.TRANSFORMERS.get();
+        transformer.reset();
+        return transformer;
+    }
+
+    /**
+     * Build a new DOM document from the source, with the identity
+     * transformer and the DOM parser of the current thread, which makes
+     * the document safe for concurrent reading.
+     * @param source The source
+     * @return DOM document
+     */
+    static Node dom(final Source source) {
+        final DOMResult result = new DOMResult(
+            XmlPool.builder().newDocument()
+        );
+        try {
+            XmlPool.transformer().transform(source, result);
+        } catch (final TransformerException ex) {
+            throw new IllegalArgumentException(
+                "Can't transform, most probably the XML is invalid", ex
+            );
+        }
+        return result.getNode();
+    }
+
+    /**
+     * Make a new DOM parser.
+     * @return Parser
+     */
+    private static DocumentBuilder newBuilder() {
+        final DocumentBuilderFactory factory =
+            DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            factory.setFeature(XmlPool.EXTERNAL_DTD, false);
+            factory.setFeature(
+                "http://apache.org/xml/features/dom/defer-node-expansion",
+                false
+            );
+            return factory.newDocumentBuilder();
+        } catch (final ParserConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Make a new SAX parser.
+     * @return Parser
+     */
+    private static SAXParser newParser() {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            factory.setFeature(XmlPool.EXTERNAL_DTD, false);
+            return factory.newSAXParser();
+        } catch (final ParserConfigurationException | SAXException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Make a new StAX factory.
+     * @return Factory
+     */
+    private static XMLInputFactory newStax() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(
+            XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false
+        );
+        return factory;
+    }
+
+    /**
+     * Make a new identity transformer.
+     * @return Transformer
+     */
+    private static Transformer newTransformer() {
+        try {
+            return TransformerFactory.newInstance().newTransformer();
+        } catch (final TransformerConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+/**
+ * Matcher of the result of XSL transformation.
+ *
+ * <p>The input is transformed with the stylesheet straight into a DOM,
+ * which is given to the nested matcher as a {@link Source}, without
+ * serializing and parsing it again. The stylesheet is compiled only once,
+ * see {@link Stylesheets}. The result of the last failed transformation
+ * is memorized, see {@link MemoizingMatcher}.
+ *
+ * <p>Objects of this class are immutable and thread-safe, as long as
+ * the nested matcher is.
+ *
+ * @param <T> Type of param
+ * @since 2.0
+ */
+@ToString(of = { "name", "matcher" })
+@EqualsAndHashCode(callSuper = false, of = { "templates", "matcher" })
+final class XslMatcher<T> extends MemoizingMatcher<T, Source> {
+
+    /**
+     * Name of the stylesheet.
+     */
+    private final transient String name;
+
+    /**
+     * Compiled stylesheet.
+     */
+    private final transient Templates templates;
+
+    /**
+     * Matcher of the result.
+     */
+    private final transient Matcher<? super Source> matcher;
+
+    /**
+     * Ctor.
+     * @param label Name of the stylesheet
+     * @param xsl Compiled stylesheet
+     * @param result Matcher of the result
+     */
+    XslMatcher(final String label, final Templates xsl,
+        final Matcher<? super Source> result) {
+        super();
+        this.name = label;
+        this.templates = xsl;
+        this.matcher = result;
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        description.appendText("an XML document transformed by XSL ")
+            .appendText(this.name)
+            .appendText(" into ")
+            .appendDescriptionOf(this.matcher);
+    }
+
+    @Override
+    protected Source evaluate(final T item) {
+        return this.transform(item);
+    }
+
+    @Override
+    protected boolean accepts(final Source result) {
+        return this.matcher.matches(result);
+    }
+
+    @Override
+    protected void explain(final Source result,
+        final Description description) {
+        description.appendText("transformed ");
+        this.matcher.describeMismatch(result, description);
+    }
+
+    /**
+     * Transform the input.
+     * @param input The input
+     * @return Result of transformation
+     */
+    private Source transform(final T input) {
+        Source source = XhtmlMatchers.xhtml(input);
+        if (source instanceof StringSource) {
+            source = ((StringSource) source).stream();
+        }
+        if (source instanceof StreamSource) {
+            source = new SAXSource(
+                XmlPool.reader(), SAXSource.sourceToInputSource(source)
+            );
+        }
+        final DOMResult result = new DOMResult(
+            XmlPool.builder().newDocument()
+        );
+        try {
+            this.templates.newTransformer().transform(source, result);
+        } catch (final TransformerException ex) {
+            throw new IllegalArgumentException(
+                String.format("Can't transform by XSL %s", this.name), ex
+            );
+        }
+        return StringSource.owning(result.getNode());
+    }
+}
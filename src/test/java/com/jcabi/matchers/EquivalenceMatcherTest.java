@@ -0,0 +1,86 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.StringDescription;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link EquivalenceMatcher}.
+ * @since 2.0
+ */
+final class EquivalenceMatcherTest {
+
+    @Test
+    void ignoresAttributeOrderAndWhitespace() {
+        MatcherAssert.assertThat(
+            "should ignore order of attributes and whitespace",
+            new StringReader("<a y='2' x='1'>\n  <b> hi\n there </b>\n</a>"),
+            XhtmlMatchers.isEquivalentTo("<a x='1' y='2'><b>hi there</b></a>")
+        );
+    }
+
+    @Test
+    void ignoresNamespacePrefixes() {
+        MatcherAssert.assertThat(
+            "should compare namespaces, not prefixes",
+            "<p:a xmlns:p='urn:x'><p:b/><!-- no --></p:a>",
+            XhtmlMatchers.isEquivalentTo("<a xmlns='urn:x'><b/></a>")
+        );
+    }
+
+    @Test
+    void readsStreamInItsOwnEncoding() {
+        final Matcher<Object> matcher = XhtmlMatchers.isEquivalentTo(
+            "<a>\u00e9t\u00e9</a>"
+        );
+        MatcherAssert.assertThat(
+            "should decode the stream as declared",
+            new ByteArrayInputStream(
+                String.join(
+                    "",
+                    "<?xml version='1.0' encoding='ISO-8859-1'?>",
+                    "<a>\u00e9t\u00e9</a>"
+                ).getBytes(StandardCharsets.ISO_8859_1)
+            ),
+            matcher
+        );
+        MatcherAssert.assertThat(
+            "should read another stream in UTF-8",
+            new ByteArrayInputStream(
+                "<a>\u00e9t\u00e9</a>".getBytes(StandardCharsets.UTF_8)
+            ),
+            matcher
+        );
+    }
+
+    @Test
+    void reportsPathOfFirstDifference() {
+        final Matcher<String> matcher = XhtmlMatchers.isEquivalentTo(
+            "<a><b/><b><c>2</c></b><d/></a>"
+        );
+        final String xml = "<a><b/><b><c>1</c></b><e/></a>";
+        MatcherAssert.assertThat(
+            "should not match",
+            matcher.matches(xml),
+            Matchers.is(false)
+        );
+        final StringDescription description = new StringDescription();
+        matcher.describeMismatch(xml, description);
+        MatcherAssert.assertThat(
+            "should print only the first difference",
+            description.toString(),
+            Matchers.equalTo(
+                "at /a[1]/b[2]/c[1]: expected text \"2\", but was text \"1\""
+            )
+        );
+    }
+}
@@ -9,8 +9,15 @@ import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import javax.xml.transform.dom.DOMSource;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.Matcher;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hamcrest.StringDescription;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -72,6 +79,117 @@ final class JaxbConverterTest {
         );
     }
 
+    @Test
+    void marshalsStraightIntoDom() throws Exception {
+        MatcherAssert.assertThat(
+            "should give the DOM, which JAXB made",
+            ((DOMSource) JaxbConverter.the(new JaxbConverterTest.Bar()))
+                .getNode().getFirstChild().getNodeName(),
+            Matchers.equalTo("bar")
+        );
+    }
+
+    @Test
+    void printsCompactXml() throws Exception {
+        MatcherAssert.assertThat(
+            "should print no whitespace between elements",
+            JaxbConverter.the(
+                new JaxbConverterTest.Employee(),
+                JaxbConverter.Format.COMPACT
+            ).toString(),
+            Matchers.startsWith("<employee><")
+        );
+    }
+
+    @Test
+    void matchesObjectSurvivingRoundTrip() {
+        MatcherAssert.assertThat(
+            "should unmarshal the same object",
+            new JaxbConverterTest.Note("hello"),
+            JaxbConverter.roundTrips()
+        );
+    }
+
+    @Test
+    void reportsPropertyLostInRoundTrip() {
+        final Matcher<Object> matcher = JaxbConverter.roundTrips();
+        final JaxbConverterTest.Draft draft =
+            new JaxbConverterTest.Draft("lost");
+        MatcherAssert.assertThat(
+            "should not match",
+            matcher.matches(draft),
+            Matchers.is(false)
+        );
+        final StringDescription description = new StringDescription();
+        matcher.describeMismatch(draft, description);
+        MatcherAssert.assertThat(
+            "should print where the property is lost",
+            description.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "",
+                    "at /draft[1]/text[1]: ",
+                    "expected text \"lost\", but was end of element"
+                )
+            )
+        );
+    }
+
+    @Test
+    void makesContextOnlyOnce() throws Exception {
+        MatcherAssert.assertThat(
+            "should take the context from cache",
+            JaxbContexts.binding(
+                JaxbConverterTest.Employee.class, JaxbConverterTest.Foo.class
+            ).context(),
+            Matchers.sameInstance(
+                JaxbContexts.binding(
+                    JaxbConverterTest.Employee.class,
+                    JaxbConverterTest.Foo.class
+                ).context()
+            )
+        );
+    }
+
+    @Test
+    void releasesContextWithItsClassLoader() throws Exception {
+        final WeakReference<ClassLoader> loader =
+            JaxbConverterTest.throwaway();
+        for (int idx = 0; idx < 100 && loader.get() != null; ++idx) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        MatcherAssert.assertThat(
+            "should let the context and its class loader be collected",
+            loader.get(),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * Convert an object of a class from a new class loader and forget it.
+     * @return The class loader
+     * @throws Exception If fails
+     */
+    private static WeakReference<ClassLoader> throwaway() throws Exception {
+        final ClassLoader loader = new JaxbConverterTest.Throwaway();
+        final Object employee = loader
+            .loadClass(JaxbConverterTest.Employee.class.getName())
+            .getConstructor()
+            .newInstance();
+        MatcherAssert.assertThat(
+            "should convert an object of the new class loader",
+            JaxbConverter.the(employee),
+            XhtmlMatchers.hasXPath("/employee/name")
+        );
+        MatcherAssert.assertThat(
+            "should marshal and unmarshal an object of the new class loader",
+            employee,
+            JaxbConverter.roundTrips()
+        );
+        return new WeakReference<>(loader);
+    }
+
     /**
      * Dummy test object.
      * @since 0.1
@@ -159,4 +277,152 @@ final class JaxbConverterTest {
             return "Bar: \u0443\u0440\u0430";
         }
     }
+
+    /**
+     * Dummy test object, which survives round trip.
+     * @since 2.0
+     */
+    @XmlRootElement(name = "note")
+    @XmlAccessorType(XmlAccessType.NONE)
+    @SuppressWarnings("PMD.PublicMemberInNonPublicType")
+    public static final class Note {
+
+        /**
+         * The text.
+         */
+        private transient String text;
+
+        /**
+         * Ctor, for JAXB.
+         */
+        public Note() {
+            this("");
+        }
+
+        /**
+         * Ctor.
+         * @param txt The text
+         */
+        Note(final String txt) {
+            this.text = txt;
+        }
+
+        /**
+         * The text.
+         * @return The text
+         */
+        @XmlElement
+        public String getText() {
+            return this.text;
+        }
+
+        /**
+         * Set the text.
+         * @param txt The text
+         */
+        public void setText(final String txt) {
+            this.text = txt;
+        }
+    }
+
+    /**
+     * Dummy test object, which loses its text in round trip.
+     * @since 2.0
+     */
+    @XmlRootElement(name = "draft")
+    @XmlAccessorType(XmlAccessType.NONE)
+    @SuppressWarnings("PMD.PublicMemberInNonPublicType")
+    public static final class Draft {
+
+        /**
+         * The text, which is not set by JAXB.
+         */
+        private final transient String text;
+
+        /**
+         * Ctor, for JAXB.
+         */
+        public Draft() {
+            this("");
+        }
+
+        /**
+         * Ctor.
+         * @param txt The text
+         */
+        Draft(final String txt) {
+            this.text = txt;
+        }
+
+        /**
+         * The text.
+         * @return The text
+         */
+        @XmlElement
+        public String getText() {
+            return this.text;
+        }
+
+        /**
+         * Ignore the text.
+         * @param txt The text
+         */
+        public void setText(final String txt) {
+            // intentionally empty
+        }
+    }
+
+    /**
+     * Class loader, which loads {@link JaxbConverterTest.Employee} and its
+     * enclosing class once again, by itself.
+     * @since 2.0
+     */
+    private static final class Throwaway extends ClassLoader {
+
+        /**
+         * Ctor.
+         */
+        Throwaway() {
+            super(JaxbConverterTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name,
+            final boolean resolve) throws ClassNotFoundException {
+            Class<?> type;
+            synchronized (this.getClassLoadingLock(name)) {
+                type = this.findLoadedClass(name);
+                if (type == null && (JaxbConverterTest.class.getName()
+                    .equals(name) || JaxbConverterTest.Employee.class
+                    .getName().equals(name))) {
+                    type = this.define(name);
+                }
+            }
+            if (type == null) {
+                type = super.loadClass(name, resolve);
+            }
+            return type;
+        }
+
+        /**
+         * Define the class by the bytecode of the parent class loader.
+         * @param name Name of the class
+         * @return The class
+         * @throws ClassNotFoundException If there is no bytecode
+         */
+        private Class<?> define(final String name)
+            throws ClassNotFoundException {
+            try (InputStream input = this.getParent().getResourceAsStream(
+                String.format("%s.class", name.replace('.', '/'))
+            )) {
+                if (input == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                final byte[] bytes = IOUtils.toByteArray(input);
+                return this.defineClass(name, bytes, 0, bytes.length);
+            } catch (final IOException ex) {
+                throw new ClassNotFoundException(name, ex);
+            }
+        }
+    }
 }
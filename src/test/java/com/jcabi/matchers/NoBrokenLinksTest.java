@@ -51,6 +51,24 @@ final class NoBrokenLinksTest {
         );
     }
 
+    @Test
+    void describesOnlyLastEvaluation() throws Exception {
+        final NoBrokenLinks matcher = new NoBrokenLinks(new URI("#"));
+        final com.jcabi.http.Response response = new FakeRequest().withBody(
+            "<html><head><link href=''/></head></html>"
+        ).fetch();
+        matcher.matches(response);
+        matcher.matches(response);
+        final org.hamcrest.StringDescription description =
+            new org.hamcrest.StringDescription();
+        matcher.describeTo(description);
+        MatcherAssert.assertThat(
+            "should describe links of the last evaluation only",
+            description.toString(),
+            Matchers.startsWith("1 broken link(s) found")
+        );
+    }
+
     @Test
     void passesWithoutBrokenLinks() throws Exception {
         MatcherAssert.assertThat(
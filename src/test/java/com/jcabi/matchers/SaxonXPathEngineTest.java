@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import com.jcabi.xml.XPathContext;
+import net.sf.saxon.s9api.XdmNode;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link SaxonXPathEngine}.
+ * @since 2.0
+ */
+final class SaxonXPathEngineTest {
+
+    @Test
+    void evaluatesModernXpath() {
+        MatcherAssert.assertThat(
+            "should evaluate XPath 3 query",
+            "<a><b>1</b><b>2</b></a>",
+            XhtmlMatchers.hasXPath(
+                "/a[sum(b) = 3 and (every $b in b satisfies $b > 0)]",
+                new SaxonXPathEngine()
+            )
+        );
+    }
+
+    @Test
+    void matchesUnprefixedNamesInDefaultNamespace() {
+        MatcherAssert.assertThat(
+            "should match unprefixed XPath against default namespace",
+            "<html xmlns='http://www.w3.org/1999/xhtml'><p>hi</p></html>",
+            XhtmlMatchers.hasXPath("/html/p[.='hi']", new SaxonXPathEngine())
+        );
+    }
+
+    @Test
+    void resolvesPrefixesFromContext() {
+        MatcherAssert.assertThat(
+            "should resolve prefixes of the query",
+            "<x xmlns='urn:x'><y/></x>",
+            Matchers.allOf(
+                XhtmlMatchers.hasXPath(
+                    "/ns1:x/ns1:y",
+                    new XPathContext("urn:x"),
+                    new SaxonXPathEngine()
+                ),
+                Matchers.not(
+                    XhtmlMatchers.hasXPath(
+                        "/ns1:x/z",
+                        new XPathContext("urn:x"),
+                        new SaxonXPathEngine()
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void matchesBooleanQueries() {
+        final XPathEngine<?> engine = new SaxonXPathEngine();
+        MatcherAssert.assertThat(
+            "should match a query that returns TRUE",
+            XhtmlMatchers.xhtml("<r><i/><i/></r>"),
+            Matchers.allOf(
+                XhtmlMatchers.hasXPath("count(//i) = 2", engine),
+                Matchers.not(XhtmlMatchers.hasXPath("count(//i) = 3", engine))
+            )
+        );
+    }
+
+    @Test
+    void buildsDocumentOnceForAllEngines() {
+        final XmlInput input = new XmlInput("<doc><x/></doc>");
+        MatcherAssert.assertThat(
+            "should build the document only once",
+            input.document(new SaxonXPathEngine()),
+            Matchers.sameInstance(input.document(new SaxonXPathEngine()))
+        );
+    }
+
+    @Test
+    void wrapsErrorsOfValues() {
+        final SaxonXPathEngine engine = new SaxonXPathEngine();
+        final XPathEngine.Query<XdmNode> query = engine.compile(
+            "/a/(1 idiv number(.))", new XPathContext()
+        );
+        final XdmNode doc = engine.document(
+            XhtmlMatchers.xhtml("<a>0</a>")
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> query.values(doc),
+            "should wrap an error of evaluation"
+        );
+    }
+}
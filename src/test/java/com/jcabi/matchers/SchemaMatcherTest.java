@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.StringDescription;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link SchemaMatcher}.
+ * @since 2.0
+ */
+final class SchemaMatcherTest {
+
+    /**
+     * Sample schema.
+     */
+    private static final String XSD = StringUtils.join(
+        "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>",
+        "<xs:element name='order'><xs:complexType>",
+        "<xs:attribute name='id' type='xs:int' use='required'/>",
+        "</xs:complexType></xs:element></xs:schema>"
+    );
+
+    @Test
+    void matchesValidDocument() {
+        MatcherAssert.assertThat(
+            "should match valid document",
+            new StringReader("<order id='42'/>"),
+            XhtmlMatchers.validAgainst(SchemaMatcherTest.XSD)
+        );
+    }
+
+    @Test
+    void describesValidationErrors() {
+        final Matcher<String> matcher =
+            XhtmlMatchers.validAgainst(SchemaMatcherTest.XSD);
+        final String xml = "<order id='x'/>";
+        MatcherAssert.assertThat(
+            "should not match invalid document",
+            matcher.matches(xml),
+            Matchers.is(false)
+        );
+        final StringDescription description = new StringDescription();
+        matcher.describeMismatch(xml, description);
+        MatcherAssert.assertThat(
+            "should print the error with its position",
+            description.toString(),
+            Matchers.allOf(
+                Matchers.startsWith("2 error(s) found: \"1:16 "),
+                Matchers.containsString("'x'")
+            )
+        );
+    }
+
+    @Test
+    void compilesSchemaOnlyOnce() {
+        final String xsd = SchemaMatcherTest.XSD.replace("order", "item");
+        MatcherAssert.assertThat(
+            "should take the compiled schema from cache",
+            XhtmlMatchers.validAgainst(xsd),
+            Matchers.equalTo(XhtmlMatchers.validAgainst(xsd))
+        );
+    }
+
+    @Test
+    void readsSchemaFromUrlOnlyOnce(@TempDir final Path dir)
+        throws Exception {
+        final Path xsd = Files.write(
+            dir.resolve("order.xsd"),
+            SchemaMatcherTest.XSD.getBytes(StandardCharsets.UTF_8)
+        );
+        final Matcher<Object> first =
+            XhtmlMatchers.validAgainst(xsd.toUri().toURL());
+        Files.delete(xsd);
+        MatcherAssert.assertThat(
+            "should not read the schema again",
+            XhtmlMatchers.validAgainst(xsd.toUri().toURL()),
+            Matchers.equalTo(first)
+        );
+    }
+}
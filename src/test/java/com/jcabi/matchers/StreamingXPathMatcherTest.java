@@ -0,0 +1,165 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.StringDescription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link StreamingXPathMatcher}.
+ * @since 2.0
+ */
+final class StreamingXPathMatcherTest {
+
+    /**
+     * Sample document.
+     */
+    private static final String PAGE = StringUtils.join(
+        "<page><head><title>Hi</title><meta name='x'/></head>",
+        "<body><row id='1'>a</row><row id='2'>b<i>c</i></row>",
+        "<div><row id='3'/></div></body></page>"
+    );
+
+    @Test
+    void matchesChildAndDescendantSteps() {
+        MatcherAssert.assertThat(
+            "should match child and descendant steps",
+            new StringReader(StreamingXPathMatcherTest.PAGE),
+            XhtmlMatchers.hasStreamingXPath("/page/head//meta[@name='x']")
+        );
+    }
+
+    @Test
+    void doesNotMatchMissingElement() {
+        MatcherAssert.assertThat(
+            "should not match missing element",
+            StreamingXPathMatcherTest.PAGE,
+            Matchers.not(XhtmlMatchers.hasStreamingXPath("/page/foot"))
+        );
+    }
+
+    @Test
+    void ignoresColonsInsideLiterals() {
+        MatcherAssert.assertThat(
+            "should not take a literal for a prefixed name",
+            "<a xmlns='u'><b x='urn:a'/></a>",
+            XhtmlMatchers.hasStreamingXPath("/a/b[@x='urn:a']")
+        );
+    }
+
+    @Test
+    void countsNodes() {
+        MatcherAssert.assertThat(
+            "should count rows at any depth",
+            StreamingXPathMatcherTest.PAGE,
+            Matchers.allOf(
+                XhtmlMatchers.hasStreamingXPath("count(//row) = 3"),
+                XhtmlMatchers.hasStreamingXPath("count(/page/body/row) = 2"),
+                XhtmlMatchers.hasStreamingXPath("count(//row/@id) >= 3")
+            )
+        );
+    }
+
+    @Test
+    void matchesTextPredicates() {
+        MatcherAssert.assertThat(
+            "should match string value and text nodes",
+            StreamingXPathMatcherTest.PAGE,
+            Matchers.allOf(
+                XhtmlMatchers.hasStreamingXPath("//row[.='bc']"),
+                XhtmlMatchers.hasStreamingXPath("//row[text()='b']"),
+                Matchers.not(
+                    XhtmlMatchers.hasStreamingXPath("//row[text()='bc']")
+                )
+            )
+        );
+    }
+
+    @Test
+    void readsStreamInDeclaredEncoding() {
+        MatcherAssert.assertThat(
+            "should read stream in the encoding of the document",
+            new ByteArrayInputStream(
+                "<?xml version='1.0' encoding='UTF-16'?><a>у</a>"
+                    .getBytes(StandardCharsets.UTF_16)
+            ),
+            XhtmlMatchers.hasStreamingXPath("/a[.='у']")
+        );
+    }
+
+    @Test
+    void matchesPrefixedNames() {
+        MatcherAssert.assertThat(
+            "should match names in namespaces",
+            "<a xmlns='urn:a'><b xmlns='urn:b'/></a>",
+            XhtmlMatchers.hasStreamingXPath("/ns1:a/ns2:b", "urn:a", "urn:b")
+        );
+    }
+
+    @Test
+    void stopsReadingWhenAllQueriesAreSatisfied() {
+        MatcherAssert.assertThat(
+            "should not read the broken tail of the document",
+            new ByteArrayInputStream(
+                StringUtils.join(
+                    "<page><head><title>x</title><meta name='a'/></head>",
+                    StringUtils.repeat("<row/>", 10_000),
+                    "<broken"
+                ).getBytes(StandardCharsets.UTF_8)
+            ),
+            XhtmlMatchers.hasStreamingXPaths(
+                "/page/head/title",
+                "//meta[@name='a']"
+            )
+        );
+    }
+
+    @Test
+    void failsWhenOneOfQueriesFails() {
+        MatcherAssert.assertThat(
+            "should fail if one query is not satisfied",
+            StreamingXPathMatcherTest.PAGE,
+            Matchers.not(
+                XhtmlMatchers.hasStreamingXPaths("//title", "count(//row) = 2")
+            )
+        );
+    }
+
+    @Test
+    void describesOnlyFailedQueries() {
+        final Matcher<Object> matcher =
+            XhtmlMatchers.hasStreamingXPaths("/a/b", "/a/c", "/a/d");
+        final InputStream input = new ByteArrayInputStream(
+            "<a><b/></a>".getBytes(StandardCharsets.UTF_8)
+        );
+        matcher.matches(input);
+        final Description mismatch = new StringDescription();
+        matcher.describeMismatch(input, mismatch);
+        MatcherAssert.assertThat(
+            "should name failed queries, without reading the stream again",
+            mismatch.toString(),
+            Matchers.equalTo("didn't match streaming XPath /a/c, /a/d")
+        );
+    }
+
+    @Test
+    void rejectsUnsupportedQuery() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> XhtmlMatchers.hasStreamingXPath("//row[1]"),
+            "should reject positional predicates"
+        );
+    }
+}
@@ -5,11 +5,14 @@
 package com.jcabi.matchers;
 
 import java.io.ByteArrayInputStream;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import javax.xml.transform.Source;
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -27,6 +30,25 @@ final class StringSourceTest {
         );
     }
 
+    @Test
+    void escapesNonAsciiCharsOfAnyWidth() {
+        MatcherAssert.assertThat(
+            "should escape chars without leading zeros",
+            new StringSource("<a>\u00e9\u0443\u4e2d!</a>").toString(),
+            Matchers.equalTo("<a>&#E9;&#443;&#4E2D;!</a>")
+        );
+    }
+
+    @Test
+    void keepsAsciiTextAsIs() {
+        final String xml = "<a><b>plain text</b></a>";
+        MatcherAssert.assertThat(
+            "should not change pure ASCII text",
+            new StringSource(xml).toString(),
+            Matchers.equalTo(xml)
+        );
+    }
+
     @Test
     void formatIncomingNode() throws Exception {
         MatcherAssert.assertThat(
@@ -54,4 +76,91 @@ final class StringSourceTest {
             )
         );
     }
+
+    @Test
+    void parsesTextOnlyOnceAndLazily() {
+        final StringSource source = new StringSource("<x><y>1</y></x>");
+        MatcherAssert.assertThat(
+            "should return the same DOM on every call",
+            source.getNode(),
+            Matchers.sameInstance(source.getNode())
+        );
+    }
+
+    @Test
+    void matchesStreamingXpathWithoutBuildingDom() {
+        final StringSource source = new StringSource("<r><i/><i/></r>");
+        MatcherAssert.assertThat(
+            "should match streaming XPath",
+            source,
+            XhtmlMatchers.hasStreamingXPath("count(/r/i) = 2")
+        );
+        MatcherAssert.assertThat(
+            "should still read the text, not the DOM",
+            source.stream(),
+            Matchers.not(Matchers.sameInstance(source))
+        );
+    }
+
+    @Test
+    void readsStreamAgainAfterStreaming() {
+        final Source source = XhtmlMatchers.xhtml(
+            new ByteArrayInputStream(
+                "<r><i/><i>\u00e9</i></r>".getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        MatcherAssert.assertThat(
+            "should match streaming XPath, which stops early",
+            source,
+            XhtmlMatchers.hasStreamingXPath("/r/i")
+        );
+        MatcherAssert.assertThat(
+            "should validate the same source",
+            source,
+            XhtmlMatchers.validAgainst(
+                String.join(
+                    "",
+                    "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>",
+                    "<xs:element name='r'/></xs:schema>"
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "should parse the same source into a DOM",
+            source,
+            XhtmlMatchers.hasXPath("/r/i[2][.='\u00e9']")
+        );
+        MatcherAssert.assertThat(
+            "should print the same source",
+            source.toString(),
+            Matchers.containsString("&#E9;")
+        );
+    }
+
+    @Test
+    void parsesInputOnlyWhenNeeded() {
+        final Source source = XhtmlMatchers.xhtml(
+            new StringReader("<r><i>\u00e9</i></r>")
+        );
+        MatcherAssert.assertThat(
+            "should parse the input for DOM-based XPath",
+            source,
+            XhtmlMatchers.hasXPath("/r/i[.='\u00e9']")
+        );
+    }
+
+    @Test
+    void reportsBrokenTextOnlyWhenParsing() {
+        final StringSource source = new StringSource("<a><b></a>");
+        MatcherAssert.assertThat(
+            "should keep the text as is, without parsing",
+            source.toString(),
+            Matchers.equalTo("<a><b></a>")
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            source::getNode,
+            "should fail when the DOM is needed"
+        );
+    }
 }
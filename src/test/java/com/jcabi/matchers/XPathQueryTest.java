@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link XPathQuery}.
+ * @since 2.0
+ */
+final class XPathQueryTest {
+
+    @Test
+    void rewritesOnlyElementNameTests() {
+        MatcherAssert.assertThat(
+            "should rewrite element names, but not attributes or functions",
+            new XPathQuery(
+                "count(//a[@div mod 2 = 0]/child::b[.='c:d']) > $n"
+            ).qualified("p"),
+            Matchers.equalTo(
+                "count(//p:a[@div mod 2 = 0]/child::p:b[.='c:d']) > $n"
+            )
+        );
+    }
+
+    @Test
+    void rewritesNamesIntoNameTests() {
+        MatcherAssert.assertThat(
+            "should match unprefixed elements by name",
+            new XPathQuery("/html//svg:g/rect[@x]").agnostic(),
+            Matchers.equalTo(
+                "/*[name()='html']//svg:g/*[name()='rect'][@x]"
+            )
+        );
+    }
+
+    @Test
+    void findsPrefixesOutsideOfLiterals() {
+        MatcherAssert.assertThat(
+            "should find prefixes of names only",
+            new XPathQuery("//x:a[@y:b='z:c']/x:*").prefixes(),
+            Matchers.contains("x", "y")
+        );
+    }
+
+    @Test
+    void matchesSourceInDefaultNamespace() {
+        MatcherAssert.assertThat(
+            "should match unprefixed XPath against a DOM in default namespace",
+            XhtmlMatchers.xhtml("<a xmlns='urn:a'><b><c/></b></a>"),
+            XhtmlMatchers.hasXPath("/a/b[c]")
+        );
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link XPathRules}.
+ * @since 2.0
+ */
+final class XPathRulesTest {
+
+    @Test
+    void reportsFailuresByDocumentAndByRule() {
+        final CorpusReport report = new XPathRules("/a[@id]", "/a/b").check(
+            Stream.of("<a id='1'><b/></a>", "<a><b/></a>", "<a/>"), 2
+        );
+        MatcherAssert.assertThat(
+            "should report failed documents with their rules",
+            report.byDocument(),
+            Matchers.allOf(
+                Matchers.hasEntry(
+                    Matchers.equalTo("#1"), Matchers.contains("/a[@id]")
+                ),
+                Matchers.hasEntry(
+                    Matchers.equalTo("#2"),
+                    Matchers.contains("/a[@id]", "/a/b")
+                ),
+                Matchers.not(Matchers.hasKey("#0"))
+            )
+        );
+        MatcherAssert.assertThat(
+            "should report failed rules with their documents",
+            report.byRule().get("/a[@id]"),
+            Matchers.contains("#1", "#2")
+        );
+    }
+
+    @Test
+    void checksFilesAndReportsBrokenOnes(@TempDir final Path dir)
+        throws Exception {
+        final Path good = Files.write(
+            dir.resolve("good.xml"),
+            "<?xml version='1.0' encoding='UTF-8'?><p>é</p>"
+                .getBytes(StandardCharsets.UTF_8)
+        );
+        final Path bad = Files.write(
+            dir.resolve("bad.xml"), "<p".getBytes(StandardCharsets.UTF_8)
+        );
+        final CorpusReport report = new XPathRules("/p[.='é']").check(
+            Stream.of(good, bad), 1
+        );
+        MatcherAssert.assertThat(
+            "should check the good file and report the bad one",
+            report.errors().keySet(),
+            Matchers.contains(bad.toString())
+        );
+        MatcherAssert.assertThat(
+            "should not report the good file",
+            report.byDocument().keySet(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void keepsDocumentsWithSameName() {
+        final StringSource first = new StringSource("<a/>");
+        first.setSystemId("same.xml");
+        final StringSource second = new StringSource("<b/>");
+        second.setSystemId("same.xml");
+        MatcherAssert.assertThat(
+            "should report both documents",
+            new XPathRules("/c").check(Stream.of(first, second), 1)
+                .byDocument().keySet(),
+            Matchers.contains("same.xml", "same.xml#1")
+        );
+    }
+
+    @Test
+    void stopsAtFirstCrash() {
+        final AtomicInteger taken = new AtomicInteger();
+        final IllegalStateException ex = Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new XPathRules("/a").check(
+                IntStream.range(0, 100).mapToObj(
+                    idx -> new Object() {
+                        @Override
+                        public String toString() {
+                            throw new UnsupportedOperationException("boom");
+                        }
+                    }
+                ).peek(doc -> taken.incrementAndGet()),
+                1
+            ),
+            "should throw the crash"
+        );
+        MatcherAssert.assertThat(
+            "should name the document, which crashed",
+            ex.getMessage(),
+            Matchers.equalTo("Can't check document #0")
+        );
+        MatcherAssert.assertThat(
+            "should not take documents after the crash",
+            taken.get(),
+            Matchers.equalTo(1)
+        );
+    }
+}
@@ -8,8 +8,15 @@ import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlType;
 import java.io.InputStreamReader;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -134,6 +141,23 @@ final class XhtmlMatchersTest {
         );
     }
 
+    @Test
+    void readsInputStreamInDeclaredEncoding() {
+        MatcherAssert.assertThat(
+            "should read input stream in the encoding it declares",
+            XhtmlMatchers.xhtml(
+                IOUtils.toInputStream(
+                    StringUtils.join(
+                        "<?xml version='1.0' encoding='ISO-8859-1'?>",
+                        "<p>caf\u00e9</p>"
+                    ),
+                    StandardCharsets.ISO_8859_1
+                )
+            ),
+            XhtmlMatchers.hasXPath("/p[.='caf\u00e9']")
+        );
+    }
+
     @Test
     void matchesReader() {
         MatcherAssert.assertThat(
@@ -149,6 +173,39 @@ final class XhtmlMatchersTest {
         );
     }
 
+    @Test
+    void reusesOneMatcherForManyDocuments() throws Exception {
+        final org.hamcrest.Matcher<String> matcher =
+            XhtmlMatchers.hasXPath("/r/i[@n > 1]");
+        final ExecutorService service = Executors.newFixedThreadPool(4);
+        try {
+            final Collection<Future<Boolean>> futures = new ArrayList<>(16);
+            for (int idx = 0; idx < 16; ++idx) {
+                final int num = idx;
+                futures.add(
+                    service.submit(
+                        () -> matcher.matches(
+                            String.format("<r><i n='%d'/></r>", num)
+                        )
+                    )
+                );
+            }
+            int matched = 0;
+            for (final Future<Boolean> future : futures) {
+                if (future.get()) {
+                    ++matched;
+                }
+            }
+            MatcherAssert.assertThat(
+                "should evaluate a shared matcher in many threads",
+                matched,
+                Matchers.equalTo(14)
+            );
+        } finally {
+            service.shutdown();
+        }
+    }
+
     @Test
     void matchesAfterJaxbConverter() throws Exception {
         MatcherAssert.assertThat(
@@ -240,6 +297,29 @@ final class XhtmlMatchersTest {
         );
     }
 
+    @Test
+    void evaluatesChangedDocumentAgain() throws Exception {
+        final Document doc = DocumentBuilderFactory
+            .newInstance()
+            .newDocumentBuilder()
+            .newDocument();
+        final Element root = doc.createElement("r");
+        doc.appendChild(root);
+        final org.hamcrest.Matcher<Document> matcher =
+            XhtmlMatchers.hasXPaths("/r/a");
+        MatcherAssert.assertThat(
+            "should not match document without the element",
+            matcher.matches(doc),
+            Matchers.is(false)
+        );
+        root.appendChild(doc.createElement("a"));
+        MatcherAssert.assertThat(
+            "should not trust the result of the previous evaluation",
+            matcher.matches(doc),
+            Matchers.is(true)
+        );
+    }
+
     @Test
     void hasXPaths() {
         MatcherAssert.assertThat(
@@ -252,6 +332,23 @@ final class XhtmlMatchersTest {
         );
     }
 
+    @Test
+    void hasXPathsReadsInputStreamOnlyOnce() {
+        MatcherAssert.assertThat(
+            "should evaluate all xpaths against one stream",
+            IOUtils.toInputStream(
+                "<c xmlns='http://www.w3.org/1999/xhtml'><d>1</d><e>2</e></c>",
+                StandardCharsets.UTF_8
+            ),
+            XhtmlMatchers.hasXPaths(
+                "/c/d[.='1']",
+                "/c/e[.='2']",
+                "/xhtml:c/xhtml:e",
+                "//xhtml:d"
+            )
+        );
+    }
+
     @Test
     void hasXPathsPrintsOnlyWrongXPaths() {
         final org.hamcrest.Matcher<String> matcher = XhtmlMatchers.hasXPaths(
@@ -272,6 +369,218 @@ final class XhtmlMatchersTest {
         );
     }
 
+    @Test
+    void hasXPathsDescribesOnlyLastEvaluation() {
+        final org.hamcrest.Matcher<String> matcher =
+            XhtmlMatchers.hasXPaths("/x/y", "/x/z");
+        matcher.matches("<x><y/></x>");
+        matcher.matches("<x><y/></x>");
+        matcher.matches("<x><z/></x>");
+        final org.hamcrest.StringDescription description =
+            new org.hamcrest.StringDescription();
+        matcher.describeTo(description);
+        MatcherAssert.assertThat(
+            "should describe only the last mismatch",
+            description.toString(),
+            Matchers.equalTo("(an XML document with XPath /x/y)")
+        );
+    }
+
+    @Test
+    void hasXPathsDescribesMismatchOfConsumedStream() {
+        final org.hamcrest.Matcher<Object> matcher =
+            XhtmlMatchers.hasXPaths("/a/b", "/a/c");
+        final java.io.InputStream stream = IOUtils.toInputStream(
+            "<a><b/></a>", StandardCharsets.UTF_8
+        );
+        MatcherAssert.assertThat(
+            "should not match",
+            matcher.matches(stream),
+            Matchers.is(false)
+        );
+        final org.hamcrest.StringDescription description =
+            new org.hamcrest.StringDescription();
+        matcher.describeMismatch(stream, description);
+        MatcherAssert.assertThat(
+            "should describe mismatch without reading the stream again",
+            description.toString(),
+            Matchers.containsString("XPath /a/c")
+        );
+    }
+
+    @Test
+    void forgetsDocumentWhenMismatchIsNotDescribed() throws Exception {
+        final org.hamcrest.Matcher<Object> matcher =
+            XhtmlMatchers.hasXPath("/a/text()", Matchers.equalTo("b"));
+        final WeakReference<Document> doc =
+            XhtmlMatchersTest.mismatched(matcher);
+        for (int idx = 0; idx < 100 && doc.get() != null; ++idx) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        MatcherAssert.assertThat(
+            "should not keep the document of the last mismatch",
+            doc.get(),
+            Matchers.nullValue()
+        );
+    }
+
+    @Test
+    void hasXPathsFailsFast() {
+        final org.hamcrest.StringDescription description =
+            new org.hamcrest.StringDescription();
+        XhtmlMatchers.hasXPaths(1, "/a", "/x", "/y", "/z")
+            .describeMismatch("<a/>", description);
+        MatcherAssert.assertThat(
+            "should report only the first wrong xpath",
+            description.toString(),
+            Matchers.allOf(
+                Matchers.containsString("XPath /x"),
+                Matchers.not(Matchers.containsString("XPath /y")),
+                Matchers.containsString("2 not checked")
+            )
+        );
+    }
+
+    @Test
+    void hasXPathsInParallelReportsFailuresInOrder() {
+        final Collection<String> xpaths = new ArrayList<>(0);
+        for (int idx = 0; idx < 50; ++idx) {
+            xpaths.add(String.format("/r/i[@n='%d']", idx * 2));
+        }
+        final String xml = "<r><i n='0'/><i n='2'/><i n='4'/></r>";
+        final org.hamcrest.StringDescription sequential =
+            new org.hamcrest.StringDescription();
+        XhtmlMatchers.hasXPaths(xpaths).describeMismatch(xml, sequential);
+        final org.hamcrest.StringDescription parallel =
+            new org.hamcrest.StringDescription();
+        XhtmlMatchers.hasXPaths(ForkJoinPool.commonPool(), xpaths)
+            .describeMismatch(xml, parallel);
+        MatcherAssert.assertThat(
+            "should report the same failures as sequential mode",
+            parallel.toString(),
+            Matchers.equalTo(sequential.toString())
+        );
+    }
+
+    @Test
+    void matchesValueOfXPath() {
+        MatcherAssert.assertThat(
+            "should match the value of the first node",
+            "<book><price>42</price><price>7</price></book>",
+            XhtmlMatchers.hasXPath("/book/price", Matchers.equalTo("42"))
+        );
+    }
+
+    @Test
+    void matchesAllValuesOfXPath() {
+        MatcherAssert.assertThat(
+            "should match values of all nodes, in document order",
+            "<a x='1'><b x='2'/><b x='3'/></a>",
+            XhtmlMatchers.hasXPathValues(
+                "//@x", Matchers.contains("1", "2", "3")
+            )
+        );
+    }
+
+    @Test
+    void describesMismatchOfXPathValue() {
+        final org.hamcrest.Matcher<String> matcher =
+            XhtmlMatchers.hasXPath("count(/r/i)", Matchers.equalTo("3"));
+        final String xml = "<r><i/><i/></r>";
+        MatcherAssert.assertThat(
+            "should not match",
+            matcher.matches(xml),
+            Matchers.is(false)
+        );
+        final org.hamcrest.StringDescription description =
+            new org.hamcrest.StringDescription();
+        matcher.describeMismatch(xml, description);
+        MatcherAssert.assertThat(
+            "should print the value found",
+            description.toString(),
+            Matchers.equalTo("value was \"2\"")
+        );
+    }
+
+    @Test
+    void matchesNumberOfNodes() {
+        MatcherAssert.assertThat(
+            "should count nodes in a default namespace",
+            "<table xmlns='urn:t'><row/><row/><row/></table>",
+            XhtmlMatchers.hasXPathCount("/table/row", Matchers.equalTo(3))
+        );
+    }
+
+    @Test
+    void matchesBooleanXPath() {
+        MatcherAssert.assertThat(
+            "should match a boolean query",
+            "<t><p/><p/></t>",
+            XhtmlMatchers.hasXPath("count(//p) > 1")
+        );
+    }
+
+    @Test
+    void matchesElementsInNestedDefaultNamespace() {
+        MatcherAssert.assertThat(
+            "should match inline SVG without prefixes",
+            StringUtils.join(
+                "<html><body>",
+                "<svg xmlns='http://www.w3.org/2000/svg'><rect/></svg>",
+                "</body></html>"
+            ),
+            XhtmlMatchers.hasXPath("//svg/rect")
+        );
+    }
+
+    @Test
+    void givesSameAnswerInAllEngines() {
+        final String[][] cases = {
+            {"<x:a xmlns:x='urn:a'><b/></x:a>", "/a/b", "false"},
+            {"<x:a xmlns:x='urn:a'><b/></x:a>", "/*/b", "true"},
+            {"<html xmlns='urn:h'><p/></html>", "/html/p", "true"},
+            {"<a xmlns='urn:a'><b xmlns=''/></a>", "/a/b", "true"},
+            {"<a><b xmlns='urn:b'/></a>", "/a/b", "true"},
+            {"<a><s xmlns='urn:s'><r/></s></a>", "//s/r", "true"},
+            {"<a><s xmlns='urn:s'><r/></s></a>", "/a/r", "false"},
+            {"<a xmlns='urn:a'><b x='urn:a'/></a>", "/a/b[@x='urn:a']", "true"},
+        };
+        for (final String[] test : cases) {
+            final boolean expected = Boolean.parseBoolean(test[2]);
+            MatcherAssert.assertThat(
+                String.format("should give one answer for %s", test[1]),
+                Arrays.asList(
+                    XhtmlMatchers.hasXPath(test[1], new JdkXPathEngine())
+                        .matches(test[0]),
+                    XhtmlMatchers.hasXPath(test[1], new SaxonXPathEngine())
+                        .matches(test[0]),
+                    XhtmlMatchers.hasStreamingXPath(test[1]).matches(test[0])
+                ),
+                Matchers.everyItem(Matchers.is(expected))
+            );
+        }
+    }
+
+    /**
+     * Match a new document, which doesn't match, and forget it.
+     * @param matcher The matcher
+     * @return The document
+     * @throws Exception If fails
+     */
+    private static WeakReference<Document> mismatched(
+        final org.hamcrest.Matcher<Object> matcher) throws Exception {
+        final Document doc = DocumentBuilderFactory.newInstance()
+            .newDocumentBuilder().newDocument();
+        doc.appendChild(doc.createElement("a")).setTextContent("c");
+        MatcherAssert.assertThat(
+            "should not match",
+            matcher.matches(doc),
+            Matchers.is(false)
+        );
+        return new WeakReference<>(doc);
+    }
+
     /**
      * Foo.
      * @since 0.1
@@ -0,0 +1,45 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.xml.parsers.DocumentBuilder;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link XmlPool}.
+ * @since 2.0
+ */
+final class XmlPoolTest {
+
+    @Test
+    void reusesParserInOneThread() {
+        MatcherAssert.assertThat(
+            "should return the same parser to the same thread",
+            XmlPool.builder(),
+            Matchers.sameInstance(XmlPool.builder())
+        );
+    }
+
+    @Test
+    void givesEveryThreadItsOwnParser() throws Exception {
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            final DocumentBuilder other = service.submit(
+                XmlPool::builder
+            ).get();
+            MatcherAssert.assertThat(
+                "should not share parsers between threads",
+                XmlPool.builder(),
+                Matchers.not(Matchers.sameInstance(other))
+            );
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.matchers;
+
+import java.io.StringReader;
+import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link XslMatcher}.
+ * @since 2.0
+ */
+final class XslMatcherTest {
+
+    /**
+     * Sample stylesheet.
+     */
+    private static final String XSL = StringUtils.join(
+        "<xsl:stylesheet version='1.0'",
+        " xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>",
+        "<xsl:template match='/order'><html><body>",
+        "<p><xsl:value-of select='@id'/></p>",
+        "</body></html></xsl:template></xsl:stylesheet>"
+    );
+
+    @Test
+    void matchesResultOfTransformation() {
+        MatcherAssert.assertThat(
+            "should transform and match the result",
+            new StringReader("<order id='7'/>"),
+            XhtmlMatchers.transformedBy(
+                XslMatcherTest.XSL,
+                XhtmlMatchers.hasXPaths("/html/body", "//p[.='7']")
+            )
+        );
+    }
+
+    @Test
+    void doesNotMatchWrongResult() {
+        MatcherAssert.assertThat(
+            "should not match, when the result is different",
+            "<order id='7'/>",
+            Matchers.not(
+                XhtmlMatchers.transformedBy(
+                    XslMatcherTest.XSL,
+                    XhtmlMatchers.hasXPath("//p", Matchers.equalTo("8"))
+                )
+            )
+        );
+    }
+
+    @Test
+    void compilesStylesheetOnlyOnce() {
+        final Matcher<Object> result = Matchers.anything();
+        MatcherAssert.assertThat(
+            "should take the compiled stylesheet from cache",
+            XhtmlMatchers.transformedBy(XslMatcherTest.XSL, result),
+            Matchers.equalTo(
+                XhtmlMatchers.transformedBy(XslMatcherTest.XSL, result)
+            )
+        );
+    }
+}